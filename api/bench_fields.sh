@@ -0,0 +1,84 @@
+#!/bin/zsh
+
+# Compares bytes on the wire, response time and server-side serialization time of GET /api/v1/employee with and
+# without a sparse fieldset.
+# Seed the store with a realistic number of employees first (see the admin import endpoint); the effect grows with
+# the size of the list. Serialization time comes from the com.challenge.api.Serialization JFR events of a recording
+# per variant, so no other recording may be running. Start the server with --jfr.serialization-threshold=0ms, or
+# serializations under the default 5 ms threshold are left out (the events column shows how many were recorded).
+#
+# Every call but the login counts against the API rate limit of 30 requests a minute: RUNS requests plus start,
+# stop and dump of the recording for each variant. Any response other than 200 aborts the benchmark, so a run
+# never reports rate limited responses as measurements.
+
+GREEN='\033[0;32m'
+YELLOW='\033[1;33m'
+RED='\033[0;31m'
+NC='\033[0m' # No Color
+
+BASE_URL="http://localhost:8080"
+USERNAME="EmployeesRUS"
+PASSWORD="AWYSftc_878965$!"
+RATE_LIMIT=30
+VARIANTS=(all uuid,fullName,jobTitle)
+RUNS=${RUNS:-10}
+JFR=${JFR:-jfr}
+
+fail() {
+    echo "${RED}$1${NC}"
+    exit 1
+}
+
+(( RUNS * ${#VARIANTS} + 3 * ${#VARIANTS} <= RATE_LIMIT )) \
+    || fail "RUNS=$RUNS needs more than the $RATE_LIMIT requests a minute the API allows"
+command -v $JFR > /dev/null || fail "The jfr tool was not found, set JFR to its path"
+
+RECORDING=$(mktemp -t bench_fields.XXXXXX)
+trap 'rm -f $RECORDING' EXIT
+
+TOKEN=$(curl -s -X POST "$BASE_URL/api/v1/auth/login" \
+    -H "Content-Type: application/json" \
+    -d "{\"username\":\"$USERNAME\",\"password\":\"$PASSWORD\"}" \
+    | sed 's/.*"token":"\([^"]*\)".*/\1/')
+[[ -n $TOKEN && $TOKEN != *'{'* ]] || fail "Failed to get token. Check if the server is running."
+
+# Calls a JFR admin endpoint, writing the response body to the optional third argument
+jfr_admin() {
+    local CODE=$(curl -s -o "${3:-/dev/null}" -w "%{http_code}" -X $1 "$BASE_URL/api/v1/admin/jfr$2" \
+        -H "Authorization: Bearer $TOKEN")
+    [[ $CODE == 200 ]] || fail "$1 /api/v1/admin/jfr$2 returned $CODE"
+}
+
+# Prints the number and average milliseconds of the recorded employee list serializations. Skips the recording
+# status returned by the start call, which is serialized while the recording is already running
+serialization_stats() {
+    $JFR print --events com.challenge.api.Serialization $RECORDING | awk '
+        /duration = / {
+            ms = $3
+            if ($4 == "s") ms *= 1000; else if ($4 == "us") ms /= 1000; else if ($4 == "ns") ms /= 1000000
+        }
+        /type = / && !/RecordingStatus/ { total += ms; n++ }
+        END { printf "%d %.3f\n", n, n ? total / n : 0 }'
+}
+
+echo "${YELLOW}fields                          bytes      avg seconds  events  avg serialize ms${NC}"
+for FIELDS in $VARIANTS; do
+    QUERY=""
+    [[ $FIELDS != all ]] && QUERY="?fields=$FIELDS"
+    TOTAL=0.0
+    jfr_admin POST /start
+    for i in {1..$RUNS}; do
+        read CODE BYTES ELAPSED <<< $(curl -s -o /dev/null -w "%{http_code} %{size_download} %{time_total}" \
+            "$BASE_URL/api/v1/employee$QUERY" \
+            -H "Authorization: Bearer $TOKEN" \
+            -H "Accept-Encoding: identity")
+        [[ $CODE == 200 ]] || fail "GET /api/v1/employee$QUERY returned $CODE"
+        TOTAL=$(( TOTAL + ELAPSED ))
+    done
+    jfr_admin POST /stop
+    jfr_admin GET /dump $RECORDING
+    read EVENTS SERIALIZE_MS <<< $(serialization_stats)
+    printf "%-31s %-10s %-12.4f %-7s %.3f\n" $FIELDS $BYTES $(( TOTAL / RUNS )) "$EVENTS/$RUNS" $SERIALIZE_MS
+done
+
+echo "\n${GREEN}Benchmark completed!${NC}"
@@ -0,0 +1,94 @@
+#!/bin/zsh
+
+# Compares bytes on the wire, response time and server-side serialization time of GET /api/v1/employee for each
+# wire format and encoding.
+# Seed the store with a realistic number of employees first; the defaults are below the compression threshold.
+# Serialization time comes from the com.challenge.api.Serialization JFR events of one recording spanning the run,
+# grouped by format, so no other recording may be running. Start the server with --jfr.serialization-threshold=0ms,
+# or serializations under the default 5 ms threshold are left out (the events column shows how many were recorded).
+#
+# Every call but the login counts against the API rate limit of 30 requests a minute: RUNS requests per format and
+# encoding plus start, stop and dump of the recording. Any unexpected status or content type aborts the benchmark,
+# so a run never reports rate limited responses as measurements.
+
+GREEN='\033[0;32m'
+YELLOW='\033[1;33m'
+RED='\033[0;31m'
+NC='\033[0m' # No Color
+
+BASE_URL="http://localhost:8080"
+USERNAME="EmployeesRUS"
+PASSWORD="AWYSftc_878965$!"
+RATE_LIMIT=30
+FORMATS=(application/json application/cbor application/x-jackson-smile)
+ENCODINGS=(identity gzip)
+RUNS=${RUNS:-4}
+JFR=${JFR:-jfr}
+
+fail() {
+    echo "${RED}$1${NC}"
+    exit 1
+}
+
+(( RUNS * ${#FORMATS} * ${#ENCODINGS} + 3 <= RATE_LIMIT )) \
+    || fail "RUNS=$RUNS needs more than the $RATE_LIMIT requests a minute the API allows"
+command -v $JFR > /dev/null || fail "The jfr tool was not found, set JFR to its path"
+
+RECORDING=$(mktemp -t bench_formats.XXXXXX)
+trap 'rm -f $RECORDING' EXIT
+
+TOKEN=$(curl -s -X POST "$BASE_URL/api/v1/auth/login" \
+    -H "Content-Type: application/json" \
+    -d "{\"username\":\"$USERNAME\",\"password\":\"$PASSWORD\"}" \
+    | sed 's/.*"token":"\([^"]*\)".*/\1/')
+[[ -n $TOKEN && $TOKEN != *'{'* ]] || fail "Failed to get token. Check if the server is running."
+
+# Calls a JFR admin endpoint, writing the response body to the optional third argument
+jfr_admin() {
+    local CODE=$(curl -s -o "${3:-/dev/null}" -w "%{http_code}" -X $1 "$BASE_URL/api/v1/admin/jfr$2" \
+        -H "Authorization: Bearer $TOKEN")
+    [[ $CODE == 200 ]] || fail "$1 /api/v1/admin/jfr$2 returned $CODE"
+}
+
+# Prints format, number and average milliseconds of the recorded employee list serializations, one format per line.
+# Skips the recording status returned by the start call, which is serialized while the recording is already running
+serialization_stats() {
+    $JFR print --events com.challenge.api.Serialization $RECORDING | awk '
+        /duration = / {
+            ms = $3
+            if ($4 == "s") ms *= 1000; else if ($4 == "us") ms /= 1000; else if ($4 == "ns") ms /= 1000000
+        }
+        /type = / { skip = /RecordingStatus/ }
+        /format = / && !skip { gsub(/"/, "", $3); total[$3] += ms; n[$3]++ }
+        END { for (f in n) printf "%s %d %.3f\n", f, n[f], total[f] / n[f] }'
+}
+
+jfr_admin POST /start
+echo "${YELLOW}format                          encoding   bytes      avg seconds${NC}"
+for FORMAT in $FORMATS; do
+    for ENCODING in $ENCODINGS; do
+        TOTAL=0.0
+        for i in {1..$RUNS}; do
+            read CODE TYPE BYTES ELAPSED <<< $(curl -s -o /dev/null \
+                -w "%{http_code} %{content_type} %{size_download} %{time_total}" \
+                "$BASE_URL/api/v1/employee" \
+                -H "Authorization: Bearer $TOKEN" \
+                -H "Accept: $FORMAT" \
+                -H "Accept-Encoding: $ENCODING")
+            [[ $CODE == 200 ]] || fail "GET /api/v1/employee as $FORMAT, $ENCODING returned $CODE"
+            [[ $TYPE == $FORMAT* ]] || fail "GET /api/v1/employee as $FORMAT, $ENCODING returned $TYPE"
+            TOTAL=$(( TOTAL + ELAPSED ))
+        done
+        printf "%-31s %-10s %-10s %.4f\n" $FORMAT $ENCODING $BYTES $(( TOTAL / RUNS ))
+    done
+done
+jfr_admin POST /stop
+jfr_admin GET /dump $RECORDING
+
+# Serialization includes writing to the response, so with gzip it also covers compression
+echo "\n${YELLOW}format                          events     avg serialize ms${NC}"
+serialization_stats | while read FORMAT EVENTS SERIALIZE_MS; do
+    printf "%-31s %-10s %.3f\n" $FORMAT "$EVENTS/$(( RUNS * ${#ENCODINGS} ))" $SERIALIZE_MS
+done
+
+echo "\n${GREEN}Benchmark completed!${NC}"
@@ -0,0 +1,75 @@
+#!/bin/zsh
+
+# Measures replication throughput and lag: starts a leader on 8080 and a follower on 8081, bulk imports employees
+# into the leader and times how long the follower takes to apply all of them.
+# Timings are only as fine as the poll interval, so use enough employees for the run to take a while.
+# Build the jar first:
+#   ./gradlew :api:bootJar
+
+GREEN='\033[0;32m'
+YELLOW='\033[1;33m'
+NC='\033[0m' # No Color
+
+cd ${0:a:h}
+LEADER_URL="http://localhost:8080"
+FOLLOWER_URL="http://localhost:8081"
+USERNAME="EmployeesRUS"
+PASSWORD="AWYSftc_878965$!"
+EMPLOYEES=${EMPLOYEES:-100000}
+BOOT_JAR=$(ls build/libs/*.jar | grep -v -e plain -e aot | head -1)
+
+zmodload zsh/datetime
+now_ms() { print $(( int(EPOCHREALTIME * 1000) )) }
+# Polls stay under the API rate limit of 30 requests a minute
+POLL_INTERVAL=2.5
+follower_status() {
+    curl -s "$FOLLOWER_URL/api/v1/admin/replication" -H "Authorization: Bearer $TOKEN" \
+        | sed 's/.*"epoch":\(-\{0,1\}[0-9]*\),"appliedSequence":\([0-9]*\).*"lagEntries":\([0-9]*\).*/\1 \2 \3/'
+}
+
+mkdir -p imports
+for i in {1..$EMPLOYEES}; do
+    print "{\"firstName\":\"Bench\",\"lastName\":\"User$i\",\"salary\":50000,\"age\":30," \
+        "\"jobTitle\":\"Engineer\",\"email\":\"bench$i@example.com\"}"
+done > imports/replication_bench.jsonl
+
+java -jar $BOOT_JAR --replication.role=leader > /dev/null 2>&1 &
+LEADER_PID=$!
+until curl -s -o /dev/null "$LEADER_URL/api/v1/auth/login"; do sleep 0.1; done
+java -jar $BOOT_JAR --server.port=8081 --replication.role=follower > /dev/null 2>&1 &
+FOLLOWER_PID=$!
+until curl -s -o /dev/null "$FOLLOWER_URL/api/v1/auth/login"; do sleep 0.1; done
+
+# Both nodes share the signing key, so the leader's token is accepted by the follower
+TOKEN=$(curl -s -X POST "$LEADER_URL/api/v1/auth/login" \
+    -H "Content-Type: application/json" \
+    -d "{\"username\":\"$USERNAME\",\"password\":\"$PASSWORD\"}" \
+    | sed 's/.*"token":"\([^"]*\)".*/\1/')
+read EPOCH BASELINE LAG <<< $(follower_status)
+# The follower reports epoch 0 until it has loaded the leader's snapshot
+until (( EPOCH != 0 && LAG == 0 )); do sleep $POLL_INTERVAL; read EPOCH BASELINE LAG <<< $(follower_status); done
+
+echo "${YELLOW}Importing $EMPLOYEES employees into the leader...${NC}"
+START=$(now_ms)
+curl -s -o /dev/null -X POST "$LEADER_URL/api/v1/admin/import" \
+    -H "Authorization: Bearer $TOKEN" \
+    -H "Content-Type: application/json" \
+    -d '{"file":"replication_bench.jsonl"}'
+
+MAX_LAG=0
+TARGET=$(( BASELINE + EMPLOYEES ))
+while true; do
+    read EPOCH APPLIED LAG <<< $(follower_status)
+    (( LAG > MAX_LAG )) && MAX_LAG=$LAG
+    (( APPLIED >= TARGET )) && break
+    sleep $POLL_INTERVAL
+done
+ELAPSED=$(( $(now_ms) - START ))
+
+printf "replicated %d employees in %d ms (%d/s), max lag %d entries\n" \
+    $EMPLOYEES $ELAPSED $(( EMPLOYEES * 1000 / ELAPSED )) $MAX_LAG
+
+kill $FOLLOWER_PID $LEADER_PID; wait 2> /dev/null
+rm imports/replication_bench.jsonl
+
+echo "\n${GREEN}Benchmark completed!${NC}"
@@ -0,0 +1,56 @@
+package com.challenge.api;
+
+import com.challenge.api.model.DefaultEmployee;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Reflection and resource hints for the AOT-processed and native-image builds.
+ *
+ * Spring infers most of this from the controllers, but the JSON payloads are listed explicitly, and JJWT is invisible
+ * to it: the api jar loads its implementation classes by name and finds the Jackson (de)serializers through
+ * {@link java.util.ServiceLoader}.
+ */
+public class ApiRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final String[] JSON_TYPES = {
+        "com.challenge.api.controller.AuthRequest",
+        "com.challenge.api.controller.AuthResponse",
+        "com.challenge.api.controller.RevokeRequest"
+    };
+
+    private static final String[] JJWT_TYPES = {
+        "io.jsonwebtoken.impl.DefaultClaims",
+        "io.jsonwebtoken.impl.DefaultJwtBuilder",
+        "io.jsonwebtoken.impl.DefaultJwtParser",
+        "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+        "io.jsonwebtoken.impl.compression.DefaultCompressionCodecResolver",
+        "io.jsonwebtoken.jackson.io.JacksonDeserializer",
+        "io.jsonwebtoken.jackson.io.JacksonSerializer"
+    };
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        bindingRegistrar.registerReflectionHints(hints.reflection(), DefaultEmployee.class);
+        for (String type : JSON_TYPES) {
+            bindingRegistrar.registerReflectionHints(
+                    hints.reflection(), ClassUtils.resolveClassName(type, classLoader));
+        }
+
+        for (String type : JJWT_TYPES) {
+            hints.reflection()
+                    .registerType(
+                            TypeReference.of(type),
+                            MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                            MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.*");
+        hints.resources().registerPattern("jfr/employee-api.jfc");
+    }
+}
@@ -0,0 +1,58 @@
+package com.challenge.api;
+
+import com.challenge.api.service.EmployeeImportService;
+import com.challenge.api.service.ImportJob;
+import java.nio.file.Path;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Command line entry point for bulk imports. Runs the import, prints a summary and exits, e.g.
+ * <pre>
+ * java -jar api.jar --employee.import.file=/data/employees.jsonl --spring.main.web-application-type=none
+ * </pre>
+ */
+@Component
+@ConditionalOnProperty(name = "employee.import.file")
+public class EmployeeImportRunner implements ApplicationRunner {
+
+    private final EmployeeImportService importService;
+    private final ConfigurableApplicationContext context;
+    private final String file;
+    private final String format;
+
+    public EmployeeImportRunner(
+            EmployeeImportService importService,
+            ConfigurableApplicationContext context,
+            @Value("${employee.import.file}") String file,
+            @Value("${employee.import.format:}") String format) {
+        this.importService = importService;
+        this.context = context;
+        this.file = file;
+        this.format = format;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Path path = Path.of(file);
+        EmployeeImportService.Format importFormat = format.isBlank()
+                ? EmployeeImportService.Format.fromFileName(path.getFileName().toString())
+                : EmployeeImportService.Format.valueOf(format.toUpperCase());
+
+        ImportJob job = importService.runNow(path, importFormat);
+        System.out.printf(
+                "Import %s: %d imported, %d rejected (see %s)%n",
+                job.getStatus(), job.getImported(), job.getRejected(), job.getRejectFile());
+        if (job.getError() != null) {
+            System.err.println("Import failed: " + job.getError());
+        }
+
+        int exitCode = job.getStatus() == ImportJob.Status.COMPLETED ? 0 : 1;
+        System.exit(SpringApplication.exit(context, () -> exitCode));
+    }
+}
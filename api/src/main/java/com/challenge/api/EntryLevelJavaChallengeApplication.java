@@ -2,8 +2,10 @@ package com.challenge.api;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(ApiRuntimeHints.class)
 public class EntryLevelJavaChallengeApplication {
 
     public static void main(String[] args) {
@@ -1,5 +1,9 @@
 package com.challenge.api.config;
 
+import com.challenge.api.ratelimit.ApiKeyKeyResolver;
+import com.challenge.api.ratelimit.JwtSubjectKeyResolver;
+import com.challenge.api.ratelimit.RateLimitKeyResolver;
+import java.util.Set;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -51,4 +55,20 @@ public class ApplicationConfig {
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
     }
+
+    /*
+     * Per-caller buckets checked after authentication; the address strategy has none beyond the pre-auth one
+     */
+    @Bean
+    public RateLimitKeyResolver rateLimitKeyResolver(
+            @Value("${rate-limit.key-strategy:address}") String strategy,
+            @Value("${rate-limit.api-key-header:X-API-Key}") String apiKeyHeader,
+            @Value("${rate-limit.api-keys:}") Set<String> apiKeys) {
+        return switch (strategy) {
+            case "address" -> request -> null;
+            case "jwt-subject" -> new JwtSubjectKeyResolver();
+            case "api-key" -> new ApiKeyKeyResolver(apiKeyHeader, apiKeys);
+            default -> throw new IllegalStateException("Unknown rate-limit.key-strategy: " + strategy);
+        };
+    }
 } 
\ No newline at end of file
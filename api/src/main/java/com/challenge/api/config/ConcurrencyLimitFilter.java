@@ -0,0 +1,115 @@
+package com.challenge.api.config;
+
+import com.challenge.api.ratelimit.GradientConcurrencyLimit;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sheds load once the node has more requests in flight than {@link GradientConcurrencyLimit} estimates it can serve
+ * without latency climbing. Rejected requests get an immediate 503 with Retry-After instead of queueing.
+ *
+ * Each route class may only fill its share of the limit, so as the node saturates bulk writes are turned away
+ * first, then reads, and logins last. Streaming downloads get the smallest share, since each holds its slot for as
+ * long as the transfer takes, and their latency is never fed into the estimate.
+ */
+@Component
+public class ConcurrencyLimitFilter implements Filter {
+
+    private static final Map<RouteClass, Double> SHARES =
+            new EnumMap<>(Map.of(
+                    RouteClass.AUTH, 1.0, RouteClass.READ, 0.9, RouteClass.WRITE, 0.6, RouteClass.STREAM, 0.3));
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final GradientConcurrencyLimit limit;
+    private final RouteTable routeTable = RouteTable.DEFAULT;
+
+    public ConcurrencyLimitFilter(GradientConcurrencyLimit limit) {
+        this.limit = limit;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        // The async dispatch that writes a CompletableFuture's result belongs to a request admitted already
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            chain.doFilter(request, response);
+            return;
+        }
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+
+        RouteClass routeClass = routeTable.classify(httpRequest.getMethod(), httpRequest.getRequestURI());
+        if (!limit.tryAcquire(SHARES.get(routeClass))) {
+            httpResponse.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            httpResponse.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            httpResponse.getWriter().write("Server is busy. Please try again later.");
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean sample = routeClass != RouteClass.STREAM;
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            // Async handlers are still running, release once the response is actually complete
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete(httpResponse, start, sample));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                release(httpResponse, start, sample);
+            }
+        }
+    }
+
+    private void release(HttpServletResponse response, long start, boolean sample) {
+        // Requests turned away by the rate limiter return before doing any work, so their latency would skew the
+        // estimate downwards
+        limit.release(
+                System.nanoTime() - start,
+                sample && response.getStatus() != HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    private final class ReleaseOnComplete implements AsyncListener {
+        private final HttpServletResponse response;
+        private final long start;
+        private final boolean sample;
+
+        private ReleaseOnComplete(HttpServletResponse response, long start, boolean sample) {
+            this.response = response;
+            this.start = start;
+            this.sample = sample;
+        }
+
+        // Also called after a timeout or error
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release(response, start, sample);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {}
+
+        @Override
+        public void onError(AsyncEvent event) {}
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {}
+    }
+}
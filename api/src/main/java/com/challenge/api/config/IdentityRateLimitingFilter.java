@@ -0,0 +1,65 @@
+package com.challenge.api.config;
+
+import com.challenge.api.diagnostics.RateLimitEvent;
+import com.challenge.api.ratelimit.LeasedRateLimiter;
+import com.challenge.api.ratelimit.RateLimitKeyResolver;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Second rate limit stage, after {@link JwtAuthFilter}: counts requests against the verified caller picked by
+ * {@code rate-limit.key-strategy}, on top of the per-address count in {@link RateLimitingFilter}. This caps callers
+ * spreading their requests over many addresses. Requests without a verified identity were already counted by
+ * address and pass through.
+ */
+@Component
+public class IdentityRateLimitingFilter extends OncePerRequestFilter {
+
+    private final LeasedRateLimiter rateLimiter;
+    private final RateLimitKeyResolver keyResolver;
+    private final RouteTable routeTable = RouteTable.DEFAULT;
+
+    public IdentityRateLimitingFilter(LeasedRateLimiter rateLimiter, RateLimitKeyResolver keyResolver) {
+        this.rateLimiter = rateLimiter;
+        this.keyResolver = keyResolver;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RateLimitEvent event = new RateLimitEvent();
+        event.begin();
+        String identity = keyResolver.resolve(request);
+        if (identity == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        RouteClass routeClass = routeTable.classify(request.getMethod(), request.getRequestURI());
+        boolean isAuthRequest = routeClass == RouteClass.AUTH;
+        String key = (isAuthRequest ? "auth:" : "api:") + identity;
+        int maxRequests = isAuthRequest
+                ? RateLimitingFilter.MAX_AUTH_REQUESTS_PER_MINUTE
+                : RateLimitingFilter.MAX_API_REQUESTS_PER_MINUTE;
+
+        boolean allowed = rateLimiter.tryAcquire(key, maxRequests);
+        event.end();
+        if (event.shouldCommit()) {
+            event.routeClass = routeClass.name();
+            event.allowed = allowed;
+            event.commit();
+        }
+        if (!allowed) {
+            response.setStatus(429);
+            response.getWriter().write("Too many API requests. Please try again later.");
+            return;
+        }
+
+        chain.doFilter(request, response);
+    }
+}
@@ -1,55 +1,68 @@
 package com.challenge.api.config;
 
-import jakarta.servlet.*;
+import com.challenge.api.diagnostics.RateLimitEvent;
+import com.challenge.api.ratelimit.ClientAddressKeyResolver;
+import com.challenge.api.ratelimit.LeasedRateLimiter;
+import com.challenge.api.ratelimit.RateLimitKeyResolver;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.http.HttpStatus;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Set;
 
+/*
+ * Once per request: the security chain runs again on the async dispatch that writes a CompletableFuture's result,
+ * which must not take a second permit or turn a completed create into a 429
+ */
 @Component
-public class RateLimitingFilter implements Filter {
+public class RateLimitingFilter extends OncePerRequestFilter {
 
-    // Maps to store request counts per IP address
-    private final Map<String, AtomicInteger> apiRequestCounts = new ConcurrentHashMap<>();
-    private final Map<String, AtomicInteger> authRequestCounts = new ConcurrentHashMap<>();
+    // Request counts per client address, shared with other replicas through the limiter's backend.
+    // Runs before authentication, so nothing the client claims about itself is used for the key
+    private final LeasedRateLimiter rateLimiter;
+    private final RateLimitKeyResolver keyResolver;
+    private final RouteTable routeTable = RouteTable.DEFAULT;
     
     // Rate limits
-    private static final int MAX_API_REQUESTS_PER_MINUTE = 30;  // More lenient for API calls
-    private static final int MAX_AUTH_REQUESTS_PER_MINUTE = 5;  // Stricter for auth attempts
-    
-    // Scheduler for periodic cleanup
-    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    static final int MAX_API_REQUESTS_PER_MINUTE = 30;  // More lenient for API calls
+    static final int MAX_AUTH_REQUESTS_PER_MINUTE = 5;  // Stricter for auth attempts
+
+    public RateLimitingFilter(
+            LeasedRateLimiter rateLimiter,
+            @Value("${rate-limit.trusted-proxies:}") Set<String> trustedProxies) {
+        this.rateLimiter = rateLimiter;
+        this.keyResolver = new ClientAddressKeyResolver(trustedProxies);
+    }
 
     @Override
-    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+    protected void doFilterInternal(HttpServletRequest httpRequest, HttpServletResponse httpResponse, FilterChain chain)
             throws IOException, ServletException {
-        HttpServletRequest httpRequest = (HttpServletRequest) request;
-        HttpServletResponse httpResponse = (HttpServletResponse) response;
-
-        String clientIp = httpRequest.getRemoteAddr();
-        String requestPath = httpRequest.getRequestURI();
-        
         // Check if this is an authentication request
-        boolean isAuthRequest = requestPath.contains("/api/v1/auth/");
-        
+        RouteClass routeClass = routeTable.classify(httpRequest.getMethod(), httpRequest.getRequestURI());
+        boolean isAuthRequest = routeClass == RouteClass.AUTH;
+
+        // Timed from here so the event covers resolving the key as well as the limiter lookup
+        RateLimitEvent event = new RateLimitEvent();
+        event.begin();
+
         // Choose appropriate counter and limit
-        Map<String, AtomicInteger> requestCounts = isAuthRequest ? authRequestCounts : apiRequestCounts;
+        String key = (isAuthRequest ? "auth:" : "api:") + keyResolver.resolve(httpRequest);
         int maxRequests = isAuthRequest ? MAX_AUTH_REQUESTS_PER_MINUTE : MAX_API_REQUESTS_PER_MINUTE;
-        
-        // Initialize and increment request count
-        requestCounts.putIfAbsent(clientIp, new AtomicInteger(0));
-        int requests = requestCounts.get(clientIp).incrementAndGet();
 
         // Check if limit exceeded
-        if (requests > maxRequests) {
+        boolean allowed = rateLimiter.tryAcquire(key, maxRequests);
+        event.end();
+        if (event.shouldCommit()) {
+            event.routeClass = routeClass.name();
+            event.allowed = allowed;
+            event.commit();
+        }
+        if (!allowed) {
             httpResponse.setStatus(429);
             String message = isAuthRequest ? 
                 "Too many login attempts. Please try again later." :
@@ -58,22 +71,6 @@ public class RateLimitingFilter implements Filter {
             return;
         }
 
-        chain.doFilter(request, response);
-    }
-
-    @Override
-    public void init(FilterConfig filterConfig) throws ServletException {
-        // Schedule periodic cleanup of request counts
-        scheduler.scheduleAtFixedRate(this::resetRequestCounts, 1, 1, TimeUnit.MINUTES);
-    }
-
-    @Override
-    public void destroy() {
-        scheduler.shutdown();
-    }
-
-    private void resetRequestCounts() {
-        apiRequestCounts.clear();
-        authRequestCounts.clear();
+        chain.doFilter(httpRequest, httpResponse);
     }
 } 
\ No newline at end of file
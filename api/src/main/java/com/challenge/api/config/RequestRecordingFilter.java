@@ -0,0 +1,80 @@
+package com.challenge.api.config;
+
+import com.challenge.api.diagnostics.RequestEvent;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Reports slow requests as {@link RequestEvent}s. Registered with the container ahead of the security chain, so
+ * the time includes everything the node does for the request, load shedding and authentication included.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestRecordingFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestEvent event = new RequestEvent();
+        event.begin();
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            // Async handlers are still running, finish the event once the response is actually complete
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new CommitOnComplete(event, request, response));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                commit(event, request, response);
+            }
+        }
+    }
+
+    private static void commit(RequestEvent event, HttpServletRequest request, HttpServletResponse response) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.method = request.getMethod();
+            event.path = request.getRequestURI();
+            event.status = response.getStatus();
+            event.commit();
+        }
+    }
+
+    private static final class CommitOnComplete implements AsyncListener {
+        private final RequestEvent event;
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+
+        private CommitOnComplete(RequestEvent event, HttpServletRequest request, HttpServletResponse response) {
+            this.event = event;
+            this.request = request;
+            this.response = response;
+        }
+
+        // Also called after a timeout or error
+        @Override
+        public void onComplete(AsyncEvent asyncEvent) {
+            commit(event, request, response);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent asyncEvent) {}
+
+        @Override
+        public void onError(AsyncEvent asyncEvent) {}
+
+        @Override
+        public void onStartAsync(AsyncEvent asyncEvent) {}
+    }
+}
@@ -0,0 +1,12 @@
+package com.challenge.api.config;
+
+/**
+ * Coarse classes of routes that the filter chain treats differently.
+ */
+public enum RouteClass {
+    AUTH,
+    READ,
+    WRITE,
+    // Long-running downloads whose duration depends on the data and the client, not on how busy the node is
+    STREAM
+}
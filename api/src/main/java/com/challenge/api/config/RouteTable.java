@@ -0,0 +1,33 @@
+package com.challenge.api.config;
+
+/**
+ * Path prefix to {@link RouteClass} lookup, built once so filters don't re-derive the class of every request with
+ * string searches. Prefixes are checked in order, so list more specific ones first; requests matching none of them
+ * are reads or writes depending on their method.
+ */
+public final class RouteTable {
+
+    public static final RouteTable DEFAULT = new RouteTable(
+            new String[] {"/api/v1/auth/", "/api/v1/employee/export", "/api/v1/admin/jfr/dump"},
+            new RouteClass[] {RouteClass.AUTH, RouteClass.STREAM, RouteClass.STREAM});
+
+    private final String[] prefixes;
+    private final RouteClass[] classes;
+
+    private RouteTable(String[] prefixes, RouteClass[] classes) {
+        this.prefixes = prefixes;
+        this.classes = classes;
+    }
+
+    public RouteClass classify(String method, String path) {
+        for (int i = 0; i < prefixes.length; i++) {
+            if (path.startsWith(prefixes[i])) {
+                return classes[i];
+            }
+        }
+        return switch (method) {
+            case "GET", "HEAD", "OPTIONS" -> RouteClass.READ;
+            default -> RouteClass.WRITE;
+        };
+    }
+}
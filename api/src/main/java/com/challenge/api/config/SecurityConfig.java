@@ -1,5 +1,7 @@
 package com.challenge.api.config;
 
+import jakarta.servlet.DispatcherType;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationProvider;
@@ -16,20 +18,31 @@ public class SecurityConfig {
     private final JwtAuthFilter jwtAuthFilter;
     private final AuthenticationProvider authenticationProvider;
     private final RateLimitingFilter rateLimitingFilter;
+    private final ConcurrencyLimitFilter concurrencyLimitFilter;
+    private final IdentityRateLimitingFilter identityRateLimitingFilter;
 
     public SecurityConfig(
             JwtAuthFilter jwtAuthFilter, 
             AuthenticationProvider authenticationProvider,
-            RateLimitingFilter rateLimitingFilter) {
+            RateLimitingFilter rateLimitingFilter,
+            ConcurrencyLimitFilter concurrencyLimitFilter,
+            IdentityRateLimitingFilter identityRateLimitingFilter) {
         this.jwtAuthFilter = jwtAuthFilter;
         this.authenticationProvider = authenticationProvider;
         this.rateLimitingFilter = rateLimitingFilter;
+        this.concurrencyLimitFilter = concurrencyLimitFilter;
+        this.identityRateLimitingFilter = identityRateLimitingFilter;
     }
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
             .authorizeHttpRequests((requests) -> requests
+                // The async dispatch that writes a CompletableFuture's result belongs to a request authorized already;
+                // the JWT filter doesn't run on it, so there is no authentication to check again
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                .requestMatchers("/api/v1/auth/revoke").hasRole("ADMIN")
+                .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
                 .requestMatchers("/api/v1/auth/**").permitAll()
                 .anyRequest().authenticated()
             )
@@ -37,10 +50,41 @@ public class SecurityConfig {
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
             )
             .authenticationProvider(authenticationProvider)
-            .addFilterBefore(rateLimitingFilter, UsernamePasswordAuthenticationFilter.class)
-            .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+            // Shed overload first, then rate limit by address, so floods are rejected before any token is parsed.
+            // Per-caller limits need a verified identity, so they run after authentication
+            .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterBefore(rateLimitingFilter, JwtAuthFilter.class)
+            .addFilterBefore(concurrencyLimitFilter, RateLimitingFilter.class)
+            .addFilterAfter(identityRateLimitingFilter, JwtAuthFilter.class);
 
         return http.build();
     }
 
+    /*
+     * Filter beans are also registered with the servlet container by default,
+     * which would count every request twice. It only needs to run inside the security chain.
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitingFilter> rateLimitingFilterRegistration(RateLimitingFilter filter) {
+        FilterRegistrationBean<RateLimitingFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdentityRateLimitingFilter> identityRateLimitingFilterRegistration(
+            IdentityRateLimitingFilter filter) {
+        FilterRegistrationBean<IdentityRateLimitingFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilterRegistration(
+            ConcurrencyLimitFilter filter) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
 }
\ No newline at end of file
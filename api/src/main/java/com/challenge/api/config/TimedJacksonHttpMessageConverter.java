@@ -0,0 +1,38 @@
+package com.challenge.api.config;
+
+import com.challenge.api.diagnostics.SerializationEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+
+/**
+ * Converter for Jackson's binary formats (CBOR, Smile) that reports slow response serializations as
+ * {@link SerializationEvent}s, like {@link TimedJsonHttpMessageConverter} does for JSON.
+ */
+public class TimedJacksonHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+    public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper, MediaType mediaType) {
+        super(objectMapper, mediaType);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        SerializationEvent event = new SerializationEvent();
+        event.begin();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.type = object.getClass().getName();
+                event.format = String.valueOf(outputMessage.getHeaders().getContentType());
+                event.commit();
+            }
+        }
+    }
+}
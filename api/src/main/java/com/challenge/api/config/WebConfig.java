@@ -0,0 +1,59 @@
+package com.challenge.api.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.util.List;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Content negotiation for the employee endpoints.
+ *
+ * JSON stays the default. Internal callers can send {@code Accept: application/cbor} or
+ * {@code Accept: application/x-jackson-smile} to get the same payload in a compact binary encoding, which drops the
+ * repeated field names and text timestamps. Response compression (gzip above a size threshold) is handled by the
+ * container, see {@code server.compression} in application.yml.
+ *
+ * Boot's JSON converter is swapped for a {@link TimedJsonHttpMessageConverter} with the same mapper, and Spring's
+ * default CBOR and Smile converters, which use a mapper of their own, for {@link TimedJacksonHttpMessageConverter}s
+ * built from Boot's builder. Every format then shares the JSON mapper's modules and settings, and slow
+ * serializations in any of them show up in flight recordings.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    private final Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    public WebConfig(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Replaced in place, so each format keeps its position in content negotiation
+        for (int i = 0; i < converters.size(); i++) {
+            HttpMessageConverter<?> converter = converters.get(i);
+            if (converter.getClass() == MappingJackson2HttpMessageConverter.class) {
+                MappingJackson2HttpMessageConverter json = (MappingJackson2HttpMessageConverter) converter;
+                converters.set(i, new TimedJsonHttpMessageConverter(json.getObjectMapper()));
+            } else if (converter instanceof MappingJackson2CborHttpMessageConverter) {
+                converters.set(i, binaryConverter(new CBORFactory(), MediaType.APPLICATION_CBOR));
+            } else if (converter instanceof MappingJackson2SmileHttpMessageConverter) {
+                converters.set(i, binaryConverter(new SmileFactory(), SMILE));
+            }
+        }
+    }
+
+    private TimedJacksonHttpMessageConverter binaryConverter(JsonFactory factory, MediaType mediaType) {
+        return new TimedJacksonHttpMessageConverter(objectMapperBuilder.factory(factory).build(), mediaType);
+    }
+}
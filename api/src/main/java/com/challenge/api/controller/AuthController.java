@@ -1,6 +1,9 @@
 package com.challenge.api.controller;
 
+import com.challenge.api.diagnostics.LoginEvent;
 import com.challenge.api.service.JwtService;
+import io.jsonwebtoken.JwtException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -8,8 +11,10 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 @RestController
 @RequestMapping("/api/v1/auth")
@@ -30,16 +35,56 @@ public class AuthController {
 
     @PostMapping("/login")
     public ResponseEntity<AuthResponse> login(@RequestBody AuthRequest request) {
-        authenticationManager.authenticate(
-            new UsernamePasswordAuthenticationToken(request.username(), request.password())
-        );
+        LoginEvent event = new LoginEvent();
+        event.begin();
+        try {
+            authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(request.username(), request.password())
+            );
+            event.succeeded = true;
+        } finally {
+            event.commit();
+        }
 
         UserDetails user = userDetailsService.loadUserByUsername(request.username());
         String token = jwtService.generateToken(user);
         
         return ResponseEntity.ok(new AuthResponse(token));
     }
+
+    /*
+     * Revokes the caller's own token
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = "Authorization", required = false) String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Bearer token is required");
+        }
+        revokeToken(authHeader.substring(7));
+        return ResponseEntity.noContent().build();
+    }
+
+    /*
+     * Revokes any token, e.g. one that leaked. Restricted to admins in SecurityConfig
+     */
+    @PostMapping("/revoke")
+    public ResponseEntity<Void> revoke(@RequestBody RevokeRequest request) {
+        if (request.token() == null || request.token().isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Token is required");
+        }
+        revokeToken(request.token());
+        return ResponseEntity.noContent().build();
+    }
+
+    private void revokeToken(String token) {
+        try {
+            jwtService.revokeToken(token);
+        } catch (JwtException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid token");
+        }
+    }
 }
 
 record AuthRequest(String username, String password) {}
-record AuthResponse(String token) {} 
\ No newline at end of file
+record AuthResponse(String token) {}
+record RevokeRequest(String token) {} 
\ No newline at end of file
@@ -1,14 +1,29 @@
 package com.challenge.api.controller;
 
-import com.challenge.api.model.DefaultEmployee;
 import com.challenge.api.model.Employee;
+import com.challenge.api.model.EmployeeProjection;
+import com.challenge.api.replication.ReplicationService;
 import com.challenge.api.request.EmployeeRequest;
+import com.challenge.api.request.EmployeeRequestValidator;
+import com.challenge.api.service.EmployeeExportService;
 import com.challenge.api.service.EmployeeService;
+import com.challenge.api.service.IdempotencyCache;
+import com.challenge.api.service.MonthlyHeadcount;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.Principal;
 import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -16,7 +31,9 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -47,134 +64,229 @@ public class EmployeeController {
     @Autowired
     private EmployeeService employeeService;
 
-    // Regex patterns for validation
-    private static final Pattern NAME_PATTERN = Pattern.compile("^[a-zA-Z\\s-']{2,50}$");
-    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
-    private static final Pattern JOB_TITLE_PATTERN = Pattern.compile("^[a-zA-Z\\s-']{2,100}$");
-    private static final Pattern SALARY_PATTERN = Pattern.compile("^[0-9]{1,7}$");
+    @Autowired
+    private IdempotencyCache idempotencyCache;
+
+    @Autowired
+    private EmployeeExportService employeeExportService;
+
+    @Autowired
+    private EmployeeRequestValidator employeeRequestValidator;
+
+    @Autowired
+    private ReplicationService replicationService;
+
+    private static final Pattern IDEMPOTENCY_KEY_PATTERN = Pattern.compile("^[A-Za-z0-9_.:-]{1,255}$");
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private static final int MAX_HEADCOUNT_MONTHS = 1200;
 
     @GetMapping
     /**
      * @implNote Need not be concerned with an actual persistence layer. Generate mock Employee models as necessary.
+     * @param after optional; UUID of the last employee of the previous page
+     * @param limit optional; when set, returns one page of at most this many employees ordered by UUID
+     * @param asOf optional; ISO-8601 instant, returns only the employees employed at that time (not paged)
+     * @param fields optional; comma-separated properties to return, e.g. uuid,fullName,jobTitle
      * @return One or more Employees.
      */
-    public List<Employee> getAllEmployees() {
-        return employeeService.getAllEmployees();
+    public CompletableFuture<List<Employee>> getAllEmployees(
+            @RequestParam(value = "after", required = false) UUID after,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "asOf", required = false) Instant asOf,
+            @RequestParam(value = "fields", required = false) String fields) {
+        replicationService.checkReadable();
+        checkFields(fields);
+        if (asOf != null) {
+            if (after != null || limit != null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "asOf can't be combined with paging");
+            }
+            return employeeService.getEmployeesAsOfAsync(asOf);
+        }
+        if (limit == null) {
+            return employeeService.getAllEmployeesAsync();
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return employeeService.getEmployeesPageAsync(after, limit);
+    }
+
+    @GetMapping("/headcount")
+    /**
+     * Headcount at the start of each month (UTC), oldest first.
+     * @param from optional; first month as yyyy-MM, defaults to five years before the current month
+     * @param to optional; last month as yyyy-MM, defaults to the current month
+     */
+    public CompletableFuture<List<MonthlyHeadcount>> getHeadcount(
+            @RequestParam(value = "from", required = false) YearMonth from,
+            @RequestParam(value = "to", required = false) YearMonth to) {
+        replicationService.checkReadable();
+        YearMonth last = to != null ? to : YearMonth.now(ZoneOffset.UTC);
+        YearMonth first = from != null ? from : last.minusYears(5);
+        if (first.isAfter(last) || ChronoUnit.MONTHS.between(first, last) >= MAX_HEADCOUNT_MONTHS) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "From must not be after to, and span at most " + MAX_HEADCOUNT_MONTHS + " months");
+        }
+        return employeeService.getMonthlyHeadcountAsync(first, last);
+    }
+
+    @GetMapping("/export")
+    /**
+     * Streams every employee as CSV or newline-delimited JSON, in constant memory regardless of the store's size.
+     * Compressed on the fly when the client accepts gzip.
+     * @param format csv or ndjson
+     * @param cursor optional; UUID of the last row already received, to resume an interrupted export
+     */
+    public void exportEmployees(
+            @RequestParam(value = "format", defaultValue = "ndjson") String format,
+            @RequestParam(value = "cursor", required = false) UUID cursor,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response)
+            throws IOException {
+        replicationService.checkReadable();
+        EmployeeExportService.Format exportFormat;
+        try {
+            exportFormat = EmployeeExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Format must be csv or ndjson");
+        }
+
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        String filename = "employees." + exportFormat.getExtension();
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        boolean gzip = acceptsGzip(acceptEncoding);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        OutputStream out =
+                gzip ? new GZIPOutputStream(response.getOutputStream(), 64 * 1024) : response.getOutputStream();
+        try {
+            employeeExportService.export(exportFormat, cursor, out);
+        } finally {
+            out.close();
+        }
     }
 
     @GetMapping("/{uuid}")
     /**
      * @implNote Need not be concerned with an actual persistence layer. Generate mock Employee model as necessary.
      * @param uuid Employee UUID
+     * @param fields optional; comma-separated properties to return, e.g. uuid,fullName,jobTitle
      * @return Requested Employee if exists
      */
-    public Employee getEmployeeByUuid(@PathVariable("uuid") UUID uuid) {
-        Employee employee = employeeService.getEmployeeByUUID(uuid);
-        if (employee == null) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Employee not found");
-        }
-        return employee;
+    public CompletableFuture<Employee> getEmployeeByUuid(
+            @PathVariable("uuid") UUID uuid, @RequestParam(value = "fields", required = false) String fields) {
+        replicationService.checkReadable();
+        checkFields(fields);
+        return employeeService.getEmployeeByUUIDAsync(uuid).thenApply(employee -> {
+            if (employee == null) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Employee not found");
+            }
+            return employee;
+        });
     }
 
     @PostMapping
     /**
      * @implNote Need not be concerned with an actual persistence layer.
      * @param requestBody hint!
+     * @param idempotencyKey optional; a retry with the same key returns the original employee without creating another
+     * @param fields optional; comma-separated properties of the created employee to return
      * @return Newly created Employee
      */
-    public ResponseEntity<Employee> createEmployee(@RequestBody EmployeeRequest request) {
-        // Validate the request first
-        validateEmployeeRequest(request);
-
-        // Only create employee if validation passes
-        Employee employee = new DefaultEmployee(
-                request.getFirstName().trim(),
-                request.getLastName().trim(),
-                request.getSalary(),
-                request.getJobTitle().trim(),
-                request.getEmail().trim().toLowerCase());
-
-        // Set contract hire date if provided in request
-        if (request.getContractHireDate() != null) {
-            employee.setContractHireDate(request.getContractHireDate());
+    public CompletableFuture<ResponseEntity<Employee>> createEmployee(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestBody EmployeeRequest request,
+            Principal principal) {
+        replicationService.checkWritable();
+        checkFields(fields);
+        if (idempotencyKey == null) {
+            return createFromRequest(request).thenApply(this::created);
+        }
+        if (!IDEMPOTENCY_KEY_PATTERN.matcher(idempotencyKey).matches()) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "Idempotency-Key must be 1-255 letters, digits, or _ . : -");
         }
 
-        Employee createdEmployee = employeeService.createEmployee(employee);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdEmployee);
+        // Replays are answered from the cache without validating or inserting again
+        // Keys are bound to the caller and the request body, reusing one for anything else is rejected
+        // The cache holds the key until the write itself settles, only this caller's copy times out, so a client
+        // retrying after a timeout gets the employee its first attempt created
+        CompletableFuture<Employee> write = idempotencyCache.execute(
+                idempotencyKey,
+                principal.getName(),
+                request,
+                () -> employeeService.writeEmployeeAsync(toValidatedEmployee(request)));
+        return employeeService.withTimeout(write).thenApply(this::created);
     }
 
     /*
-     * Validates input for employee
-     * I understand there are annotations to do this, however the dependencies were causing build errors
-     * Drawback of this is that only the first caught error is reported back to the user
+     * True if the client accepts gzip with a non-zero quality, explicitly or through *. gzip;q=0 refuses it
      */
-    private void validateEmployeeRequest(EmployeeRequest request) {
-        if (request == null) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Request body cannot be null");
-        }
-
-        // Validate First Name
-        if (request.getFirstName() == null || request.getFirstName().trim().isEmpty()) {
-            System.out.println("Hi!");
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "First name is required");
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
         }
-        if (!NAME_PATTERN.matcher(request.getFirstName().trim()).matches()) {
-            throw new ResponseStatusException(
-                    HttpStatus.BAD_REQUEST,
-                    "First name must contain only letters, spaces, hyphens, and apostrophes (2-50 characters)");
+        Double gzipQuality = null;
+        Double wildcardQuality = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] params = coding.split(";");
+            String name = params[0].trim().toLowerCase();
+            double quality = 1.0;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                gzipQuality = quality;
+            } else if (name.equals("*")) {
+                wildcardQuality = quality;
+            }
         }
+        double quality = gzipQuality != null ? gzipQuality : wildcardQuality != null ? wildcardQuality : 0;
+        return quality > 0;
+    }
 
-        // Validate Last Name
-        if (request.getLastName() == null || request.getLastName().trim().isEmpty()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Last name is required");
+    /*
+     * Rejects unknown properties up front; EmployeeFieldsAdvice applies the projection when the response is written
+     */
+    private void checkFields(String fields) {
+        if (fields == null) {
+            return;
         }
-        if (!NAME_PATTERN.matcher(request.getLastName().trim()).matches()) {
-            throw new ResponseStatusException(
-                    HttpStatus.BAD_REQUEST,
-                    "Last name must contain only letters, spaces, hyphens, and apostrophes (2-50 characters)");
+        try {
+            EmployeeProjection.of(fields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         }
+    }
 
-        // Validate Email
-        if (request.getEmail() == null || request.getEmail().trim().isEmpty()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Email is required");
-        }
-        if (!EMAIL_PATTERN.matcher(request.getEmail().trim().toLowerCase()).matches()) {
-            throw new ResponseStatusException(
-                    HttpStatus.BAD_REQUEST, "Invalid email format. Must be in format: username@domain.com");
-        }
+    private ResponseEntity<Employee> created(Employee employee) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(employee);
+    }
 
-        // Validate Salary
-        if (request.getSalary() == null) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Salary is required");
-        }
-        String salaryStr = String.valueOf(request.getSalary());
-        if (!SALARY_PATTERN.matcher(salaryStr).matches()) {
-            throw new ResponseStatusException(
-                    HttpStatus.BAD_REQUEST, "Salary must be a positive number with no decimal places");
-        }
-        if (request.getSalary() <= 0) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Salary must be positive");
-        }
-        if (request.getSalary() > 1000000) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Salary seems unreasonably high");
-        }
+    private CompletableFuture<Employee> createFromRequest(EmployeeRequest request) {
+        return employeeService.createEmployeeAsync(toValidatedEmployee(request));
+    }
 
-        // Validate Job Title
-        if (request.getJobTitle() == null || request.getJobTitle().trim().isEmpty()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Job title is required");
-        }
-        if (!JOB_TITLE_PATTERN.matcher(request.getJobTitle().trim()).matches()) {
-            throw new ResponseStatusException(
-                    HttpStatus.BAD_REQUEST,
-                    "Job title must contain only letters, spaces, hyphens, and apostrophes (2-100 characters)");
-        }
+    private Employee toValidatedEmployee(EmployeeRequest request) {
+        // Validate the request first
+        employeeRequestValidator.validate(request);
 
-        // Validate Contract Hire Date
-        if (request.getContractHireDate() != null) {
-            Instant now = Instant.now();
-            if (request.getContractHireDate().isAfter(now)) {
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Contract hire date cannot be in the future");
-            }
-        }
+        // Only create employee if validation passes
+        return employeeRequestValidator.toEmployee(request);
     }
 }
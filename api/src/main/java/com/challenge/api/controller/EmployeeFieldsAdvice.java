@@ -0,0 +1,57 @@
+package com.challenge.api.controller;
+
+import com.challenge.api.model.Employee;
+import com.challenge.api.model.EmployeeProjection;
+import java.util.List;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Applies the {@code fields} query parameter to employee responses: an {@link Employee}, or a list of them, is
+ * replaced by its {@link EmployeeProjection} just before Jackson writes it. Controllers validate the parameter up
+ * front, so by the time the body is written it names only known properties.
+ */
+@ControllerAdvice
+public class EmployeeFieldsAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final String FIELDS_PARAMETER = "fields";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+            Object body,
+            MethodParameter returnType,
+            MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request,
+            ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return body;
+        }
+        String fields = servletRequest.getServletRequest().getParameter(FIELDS_PARAMETER);
+        if (fields == null) {
+            return body;
+        }
+
+        if (body instanceof Employee employee) {
+            return EmployeeProjection.of(fields).project(employee);
+        }
+        if (body instanceof List<?> list && list.stream().allMatch(Employee.class::isInstance)) {
+            @SuppressWarnings("unchecked")
+            List<Employee> employees = (List<Employee>) list;
+            return EmployeeProjection.of(fields).project(employees);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,60 @@
+package com.challenge.api.controller;
+
+import com.challenge.api.diagnostics.FlightRecorderService;
+import com.challenge.api.diagnostics.RecordingStatus;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Admin endpoints controlling the Java Flight Recorder recording of this node. Open dumps in JDK Mission Control,
+ * or summarize them with {@code jfr print --events com.challenge.api.Request}.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/jfr")
+public class FlightRecorderController {
+
+    private final FlightRecorderService flightRecorderService;
+
+    public FlightRecorderController(FlightRecorderService flightRecorderService) {
+        this.flightRecorderService = flightRecorderService;
+    }
+
+    @GetMapping
+    public RecordingStatus getStatus() {
+        return flightRecorderService.getStatus();
+    }
+
+    @PostMapping("/start")
+    public RecordingStatus start() {
+        return flightRecorderService.start();
+    }
+
+    @PostMapping("/stop")
+    public RecordingStatus stop() {
+        return flightRecorderService.stop();
+    }
+
+    /*
+     * Downloads everything recorded so far; the recording keeps running
+     */
+    @GetMapping("/dump")
+    public void dump(HttpServletResponse response) throws IOException {
+        Path file = flightRecorderService.dump();
+        try {
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            response.setContentLengthLong(Files.size(file));
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"employee-api.jfr\"");
+            Files.copy(file, response.getOutputStream());
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.challenge.api.controller;
+
+import com.challenge.api.replication.ReplicationService;
+import com.challenge.api.service.EmployeeImportService;
+import com.challenge.api.service.ImportJob;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Admin endpoints for bulk employee imports. Files are read from the server's import directory
+ * ({@code employee.import.directory}), never from outside it.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/import")
+public class ImportController {
+
+    private final EmployeeImportService importService;
+    private final ReplicationService replicationService;
+    private final Path importDirectory;
+
+    public ImportController(
+            EmployeeImportService importService,
+            ReplicationService replicationService,
+            @Value("${employee.import.directory:imports}") String importDirectory) {
+        this.importService = importService;
+        this.replicationService = replicationService;
+        this.importDirectory = Path.of(importDirectory).toAbsolutePath().normalize();
+    }
+
+    @PostMapping
+    public ResponseEntity<ImportJob> startImport(@RequestBody ImportRequest request) {
+        replicationService.checkWritable();
+        if (request.file() == null || request.file().isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "File is required");
+        }
+        Path file = importDirectory.resolve(request.file()).normalize();
+        if (!file.startsWith(importDirectory) || !Files.isRegularFile(file)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "File not found in the import directory");
+        }
+
+        EmployeeImportService.Format format;
+        try {
+            format = request.format() == null
+                    ? EmployeeImportService.Format.fromFileName(file.getFileName().toString())
+                    : EmployeeImportService.Format.valueOf(request.format().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Format must be jsonl or csv");
+        }
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(importService.submit(file, format));
+    }
+
+    @GetMapping("/{id}")
+    public ImportJob getImport(@PathVariable("id") String id) {
+        ImportJob job = importService.getJob(id);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Import not found");
+        }
+        return job;
+    }
+}
+
+record ImportRequest(String file, String format) {}
@@ -0,0 +1,26 @@
+package com.challenge.api.controller;
+
+import com.challenge.api.replication.ReplicationService;
+import com.challenge.api.replication.ReplicationStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Admin endpoint reporting this node's replication role and how far it lags behind the leader.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/replication")
+public class ReplicationController {
+
+    private final ReplicationService replicationService;
+
+    public ReplicationController(ReplicationService replicationService) {
+        this.replicationService = replicationService;
+    }
+
+    @GetMapping
+    public ReplicationStatus getStatus() {
+        return replicationService.getStatus();
+    }
+}
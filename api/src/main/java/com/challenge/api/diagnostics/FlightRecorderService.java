@@ -0,0 +1,138 @@
+package com.challenge.api.diagnostics;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Owns the one flight recording that admins start, stop and dump at runtime.
+ *
+ * Recordings use the JDK's default profile (designed for continuous use in production) plus the bundled
+ * {@code jfr/employee-api.jfc}, which enables the application's own events with their thresholds. Data older than
+ * {@code jfr.max-age} or beyond {@code jfr.max-size} is discarded, so a recording can be left running indefinitely.
+ * {@code jfr.serialization-threshold} overrides the profile's serialization threshold, e.g. 0ms to record every
+ * response body when measuring serialization cost.
+ */
+@Service
+public class FlightRecorderService {
+
+    private static final String PROFILE = "jfr/employee-api.jfc";
+    private static final String RECORDING_NAME = "employee-api";
+    private static final String SERIALIZATION_THRESHOLD = "com.challenge.api.Serialization#threshold";
+
+    @Value("${jfr.continuous:false}")
+    private boolean continuous;
+
+    @Value("${jfr.max-age:6h}")
+    private Duration maxAge;
+
+    @Value("${jfr.max-size:256MB}")
+    private DataSize maxSize;
+
+    @Value("${jfr.serialization-threshold:#{null}}")
+    private Duration serializationThreshold;
+
+    private Map<String, String> settings;
+
+    private Recording recording;
+
+    @PostConstruct
+    public void init() {
+        try (Reader profile =
+                new InputStreamReader(new ClassPathResource(PROFILE).getInputStream(), StandardCharsets.UTF_8)) {
+            settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+            settings.putAll(Configuration.create(profile).getSettings());
+            if (serializationThreshold != null) {
+                settings.put(SERIALIZATION_THRESHOLD, serializationThreshold.toNanos() + " ns");
+            }
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Invalid JFR profile " + PROFILE, e);
+        }
+        if (continuous) {
+            start();
+        }
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    /*
+     * Starts a new recording, discarding a stopped one that was never dumped
+     */
+    public synchronized RecordingStatus start() {
+        if (!FlightRecorder.isAvailable()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Flight recorder is not available");
+        }
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "A recording is already running");
+        }
+        if (recording != null) {
+            recording.close();
+        }
+        recording = new Recording(settings);
+        recording.setName(RECORDING_NAME);
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSize.toBytes());
+        recording.start();
+        return getStatus();
+    }
+
+    /*
+     * Stops the running recording; its data stays available for a dump until the next start
+     */
+    public synchronized RecordingStatus stop() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "No recording is running");
+        }
+        recording.stop();
+        return getStatus();
+    }
+
+    /*
+     * Writes the recording's data so far to a temporary file, which the caller must delete
+     */
+    public synchronized Path dump() throws IOException {
+        if (recording == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No recording to dump");
+        }
+        Path file = Files.createTempFile(RECORDING_NAME + "-", ".jfr");
+        try {
+            recording.dump(file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return file;
+    }
+
+    public synchronized RecordingStatus getStatus() {
+        if (recording == null) {
+            return new RecordingStatus("NONE", null, 0);
+        }
+        return new RecordingStatus(recording.getState().name(), recording.getStartTime(), recording.getSize());
+    }
+}
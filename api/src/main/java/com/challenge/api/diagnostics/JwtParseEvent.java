@@ -0,0 +1,20 @@
+package com.challenge.api.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("com.challenge.api.JwtParse")
+@Label("JWT Parse")
+@Description("Parsing and signature verification of a bearer token")
+@Category({"Employee API", "Security"})
+@Threshold("1 ms")
+@StackTrace(false)
+public class JwtParseEvent extends Event {
+    @Label("Valid")
+    public boolean valid;
+}
@@ -0,0 +1,20 @@
+package com.challenge.api.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("com.challenge.api.Login")
+@Label("Login")
+@Description("Password check of a login, dominated by BCrypt")
+@Category({"Employee API", "Security"})
+@Threshold("0 ms")
+@StackTrace(false)
+public class LoginEvent extends Event {
+    @Label("Succeeded")
+    public boolean succeeded;
+}
@@ -0,0 +1,23 @@
+package com.challenge.api.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("com.challenge.api.RateLimit")
+@Label("Rate Limit Check")
+@Description("A rate limiter decision, slow when a new lease has to be reserved from the backend")
+@Category({"Employee API", "Web"})
+@Threshold("1 ms")
+@StackTrace(false)
+public class RateLimitEvent extends Event {
+    @Label("Route Class")
+    public String routeClass;
+
+    @Label("Allowed")
+    public boolean allowed;
+}
@@ -0,0 +1,12 @@
+package com.challenge.api.diagnostics;
+
+import java.time.Instant;
+
+/**
+ * State of the admin-controlled flight recording.
+ *
+ * @param state NEW, RUNNING, STOPPED or CLOSED, or NONE if no recording was ever started
+ * @param startTime when the recording started, null if it hasn't
+ * @param sizeBytes bytes recorded so far, bounded by {@code jfr.max-size}
+ */
+public record RecordingStatus(String state, Instant startTime, long sizeBytes) {}
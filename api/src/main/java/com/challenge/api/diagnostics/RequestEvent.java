@@ -0,0 +1,26 @@
+package com.challenge.api.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("com.challenge.api.Request")
+@Label("HTTP Request")
+@Description("An HTTP request, from the first filter until the response is complete")
+@Category({"Employee API", "Web"})
+@Threshold("20 ms")
+@StackTrace(false)
+public class RequestEvent extends Event {
+    @Label("Method")
+    public String method;
+
+    @Label("Path")
+    public String path;
+
+    @Label("Status")
+    public int status;
+}
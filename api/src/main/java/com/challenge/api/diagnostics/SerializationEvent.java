@@ -0,0 +1,23 @@
+package com.challenge.api.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("com.challenge.api.Serialization")
+@Label("Response Serialization")
+@Description("Jackson writing a response body")
+@Category({"Employee API", "Web"})
+@Threshold("5 ms")
+@StackTrace(false)
+public class SerializationEvent extends Event {
+    @Label("Type")
+    public String type;
+
+    @Label("Format")
+    public String format;
+}
@@ -0,0 +1,41 @@
+package com.challenge.api.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("com.challenge.api.StoreOperation")
+@Label("Store Operation")
+@Description("An EmployeeService read or write against the employee store")
+@Category({"Employee API", "Store"})
+@Threshold("5 ms")
+@StackTrace(false)
+public class StoreOperationEvent extends Event {
+    @Label("Operation")
+    public String operation;
+
+    @Label("Employees")
+    public int count;
+
+    /*
+     * Creates and begins an event; call finish with the number of employees read or written
+     */
+    public static StoreOperationEvent start(String operation) {
+        StoreOperationEvent event = new StoreOperationEvent();
+        event.operation = operation;
+        event.begin();
+        return event;
+    }
+
+    public void finish(int count) {
+        end();
+        if (shouldCommit()) {
+            this.count = count;
+            commit();
+        }
+    }
+}
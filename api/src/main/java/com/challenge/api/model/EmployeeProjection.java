@@ -0,0 +1,133 @@
+package com.challenge.api.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Writer for a subset of an {@link Employee}'s properties, for sparse fieldset reads ({@code ?fields=uuid,fullName}).
+ *
+ * Each property is a precompiled accessor and pre-encoded name, so writing a projection takes no reflection or
+ * bean introspection. Properties are always written in the order of the full representation, whatever order they
+ * were requested in. One projection is cached per distinct set of properties, so the cache is bounded by the
+ * number of subsets, however the sets are spelled.
+ */
+public final class EmployeeProjection {
+
+    private static final Property[] PROPERTIES = {
+        new Property("uuid", Employee::getUuid),
+        new Property("firstName", Employee::getFirstName),
+        new Property("lastName", Employee::getLastName),
+        new Property("fullName", Employee::getFullName),
+        new Property("salary", Employee::getSalary),
+        new Property("age", Employee::getAge),
+        new Property("jobTitle", Employee::getJobTitle),
+        new Property("email", Employee::getEmail),
+        new Property("contractHireDate", Employee::getContractHireDate),
+        new Property("contractTerminationDate", Employee::getContractTerminationDate)
+    };
+
+    // Keyed by the bit set of selected properties
+    private static final Map<Integer, EmployeeProjection> CACHE = new ConcurrentHashMap<>();
+
+    private final Property[] properties;
+
+    private EmployeeProjection(int selected) {
+        properties = new Property[Integer.bitCount(selected)];
+        for (int i = 0, j = 0; i < PROPERTIES.length; i++) {
+            if ((selected & (1 << i)) != 0) {
+                properties[j++] = PROPERTIES[i];
+            }
+        }
+    }
+
+    /*
+     * Returns the projection for a comma-separated list of property names
+     * Throws IllegalArgumentException if the list is empty or names a property employees don't have
+     */
+    public static EmployeeProjection of(String fields) {
+        if (fields.isBlank()) {
+            throw new IllegalArgumentException("Fields must name at least one property");
+        }
+        int selected = 0;
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            int index = indexOf(name);
+            if (index < 0) {
+                throw new IllegalArgumentException("Unknown field: " + name);
+            }
+            selected |= 1 << index;
+        }
+        return CACHE.computeIfAbsent(selected, EmployeeProjection::new);
+    }
+
+    public JsonSerializable project(Employee employee) {
+        return new Serializer() {
+            @Override
+            public void serialize(JsonGenerator gen, SerializerProvider provider) throws IOException {
+                write(employee, gen, provider);
+            }
+        };
+    }
+
+    public JsonSerializable project(List<? extends Employee> employees) {
+        return new Serializer() {
+            @Override
+            public void serialize(JsonGenerator gen, SerializerProvider provider) throws IOException {
+                gen.writeStartArray(employees, employees.size());
+                for (Employee employee : employees) {
+                    write(employee, gen, provider);
+                }
+                gen.writeEndArray();
+            }
+        };
+    }
+
+    private void write(Employee employee, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(employee, properties.length);
+        for (Property property : properties) {
+            gen.writeFieldName(property.name);
+            Object value = property.accessor.apply(employee);
+            if (value instanceof String s) {
+                gen.writeString(s);
+            } else if (value instanceof Integer n) {
+                gen.writeNumber(n);
+            } else {
+                // UUIDs and Instants go through the mapper's cached serializers, so they render exactly as in the
+                // full representation (ISO-8601 text, binary UUIDs in CBOR and Smile)
+                provider.defaultSerializeValue(value, gen);
+            }
+        }
+        gen.writeEndObject();
+    }
+
+    private static int indexOf(String name) {
+        for (int i = 0; i < PROPERTIES.length; i++) {
+            if (PROPERTIES[i].name.getValue().equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private record Property(SerializedString name, Function<Employee, Object> accessor) {
+        private Property(String name, Function<Employee, Object> accessor) {
+            this(new SerializedString(name), accessor);
+        }
+    }
+
+    private abstract static class Serializer extends JsonSerializable.Base {
+        @Override
+        public void serializeWithType(JsonGenerator gen, SerializerProvider provider, TypeSerializer typeSerializer)
+                throws IOException {
+            serialize(gen, provider);
+        }
+    }
+}
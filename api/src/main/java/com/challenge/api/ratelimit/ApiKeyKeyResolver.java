@@ -0,0 +1,27 @@
+package com.challenge.api.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.Set;
+
+/**
+ * Keys requests on an API key header, for keys issued in {@code rate-limit.api-keys} only.
+ *
+ * Unknown keys get no bucket of their own, otherwise a client could send a new key with every request to dodge
+ * the limit.
+ */
+public class ApiKeyKeyResolver implements RateLimitKeyResolver {
+
+    private final String headerName;
+    private final Set<String> issuedKeys;
+
+    public ApiKeyKeyResolver(String headerName, Set<String> issuedKeys) {
+        this.headerName = headerName;
+        this.issuedKeys = Set.copyOf(issuedKeys);
+    }
+
+    @Override
+    public String resolve(HttpServletRequest request) {
+        String apiKey = request.getHeader(headerName);
+        return apiKey != null && issuedKeys.contains(apiKey) ? "key:" + apiKey : null;
+    }
+}
@@ -0,0 +1,46 @@
+package com.challenge.api.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.Set;
+
+/**
+ * Keys requests on the client's IP address.
+ *
+ * Behind a load balancer every request arrives from the proxy, so when the direct peer is one of the configured
+ * trusted proxies the address is taken from {@code X-Forwarded-For} instead: the header is walked right to left,
+ * skipping trusted hops, and the first untrusted address is the client. Entries further left were written by the
+ * client itself and can't be trusted. Requests from untrusted peers always use the peer address, so the header
+ * can't be spoofed to dodge the limit.
+ */
+public class ClientAddressKeyResolver implements RateLimitKeyResolver {
+
+    private static final String FORWARDED_FOR = "X-Forwarded-For";
+
+    private final Set<String> trustedProxies;
+
+    public ClientAddressKeyResolver(Set<String> trustedProxies) {
+        this.trustedProxies = Set.copyOf(trustedProxies);
+    }
+
+    @Override
+    public String resolve(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        if (trustedProxies.isEmpty() || !trustedProxies.contains(remoteAddr)) {
+            return "ip:" + remoteAddr;
+        }
+
+        String forwardedFor = request.getHeader(FORWARDED_FOR);
+        if (forwardedFor == null || forwardedFor.isBlank()) {
+            return "ip:" + remoteAddr;
+        }
+        String[] hops = forwardedFor.split(",");
+        String client = remoteAddr;
+        for (int i = hops.length - 1; i >= 0; i--) {
+            client = hops[i].trim();
+            if (!trustedProxies.contains(client)) {
+                break;
+            }
+        }
+        return "ip:" + client;
+    }
+}
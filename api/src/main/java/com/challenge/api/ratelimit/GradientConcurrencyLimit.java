@@ -0,0 +1,119 @@
+package com.challenge.api.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adaptive limit on the number of requests in flight, sized from measured latency rather than a fixed quota.
+ *
+ * Every {@code concurrency-limit.window} the average latency of the requests that finished in it (short RTT) is
+ * compared with a slow-moving average of past windows (long RTT). While they match the limit grows by roughly
+ * {@code sqrt(limit)} per window; once requests start queueing the short RTT rises and the limit shrinks in
+ * proportion, by at most half per window. This is the gradient algorithm from Netflix's concurrency-limits.
+ */
+@Component
+public class GradientConcurrencyLimit {
+
+    private static final int MIN_WINDOW_SAMPLES = 10;
+    private static final int LONG_WINDOWS = 60;
+    private static final double SMOOTHING = 0.2;
+    private static final double RTT_TOLERANCE = 1.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long windowNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    // Samples of the current window; whichever thread closes the window folds them into the limit
+    private final LongAdder windowRttNanos = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final AtomicInteger windowMaxInFlight = new AtomicInteger();
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private volatile double longRttNanos;
+
+    public GradientConcurrencyLimit(
+            @Value("${concurrency-limit.initial:50}") int initialLimit,
+            @Value("${concurrency-limit.min:8}") int minLimit,
+            @Value("${concurrency-limit.max:500}") int maxLimit,
+            @Value("${concurrency-limit.window:100}") long windowMillis) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.windowNanos = windowMillis * 1_000_000;
+    }
+
+    /*
+     * Admits a request if fewer than share * limit are in flight, share being the fraction of the limit its route
+     * class may fill. Every admitted request must be released
+     */
+    public boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                windowMaxInFlight.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    /*
+     * Ends a request admitted by tryAcquire, recording its latency unless it says nothing about the node's capacity
+     */
+    public void release(long rttNanos, boolean sample) {
+        inFlight.decrementAndGet();
+        if (!sample) {
+            return;
+        }
+        windowRttNanos.add(rttNanos);
+        windowSamples.increment();
+
+        long start = windowStart.get();
+        long now = System.nanoTime();
+        if (now - start >= windowNanos
+                && windowSamples.sum() >= MIN_WINDOW_SAMPLES
+                && windowStart.compareAndSet(start, now)) {
+            update(windowRttNanos.sumThenReset(), windowSamples.sumThenReset(), windowMaxInFlight.getAndSet(0));
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void update(long rttSum, long samples, int maxInFlight) {
+        if (samples == 0) {
+            return;
+        }
+        double shortRtt = (double) rttSum / samples;
+        double longRtt = longRttNanos == 0 ? shortRtt : longRttNanos + (shortRtt - longRttNanos) / LONG_WINDOWS;
+        // After a long overload the baseline has crept up; let it fall back quickly once latency recovers
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+        longRttNanos = longRtt;
+
+        // A window that never came close to the limit says nothing about whether it could be higher
+        double current = limit;
+        if (maxInFlight < current / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRtt / shortRtt));
+        double target = current * gradient + Math.sqrt(current);
+        double next = current * (1 - SMOOTHING) + target * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+}
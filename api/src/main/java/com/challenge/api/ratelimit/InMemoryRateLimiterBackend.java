@@ -0,0 +1,38 @@
+package com.challenge.api.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.stereotype.Component;
+
+/**
+ * Backend that keeps counters in process. In a single instance deployment this is the whole story; it can also be
+ * shared by several {@link LeasedRateLimiter}s to stand in for a network store when exercising multi-node behaviour.
+ */
+@Component
+public class InMemoryRateLimiterBackend implements RateLimiterBackend {
+
+    private final ConcurrentSkipListMap<Long, Map<String, AtomicInteger>> windows = new ConcurrentSkipListMap<>();
+
+    @Override
+    public int reserve(String key, long window, int requested, int limit) {
+        AtomicInteger used = windows.computeIfAbsent(window, w -> new ConcurrentHashMap<>())
+                .computeIfAbsent(key, k -> new AtomicInteger());
+        while (true) {
+            int current = used.get();
+            int granted = Math.min(requested, limit - current);
+            if (granted <= 0) {
+                return 0;
+            }
+            if (used.compareAndSet(current, current + granted)) {
+                return granted;
+            }
+        }
+    }
+
+    @Override
+    public void evictBefore(long window) {
+        windows.headMap(window).clear();
+    }
+}
@@ -0,0 +1,26 @@
+package com.challenge.api.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Keys requests on the subject of a bearer token that {@code JwtAuthFilter} has verified.
+ *
+ * Only verified subjects get a bucket. An unverified {@code sub} claim would let a client pick a fresh bucket for
+ * every request, or spend someone else's.
+ */
+public class JwtSubjectKeyResolver implements RateLimitKeyResolver {
+
+    @Override
+    public String resolve(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null
+                || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return "sub:" + authentication.getName();
+    }
+}
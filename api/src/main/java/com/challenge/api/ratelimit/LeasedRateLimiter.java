@@ -0,0 +1,107 @@
+package com.challenge.api.ratelimit;
+
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fixed one-minute window rate limiter whose counts are shared through a {@link RateLimiterBackend}.
+ *
+ * Each node leases permits from the backend in batches of {@code rate-limit.lease-size} and hands them out locally,
+ * so most decisions never leave the process. The backend never grants more than the limit per window, so the limit
+ * holds across all replicas; the trade-off is that permits leased by one node but not used are lost to the others
+ * until the window rolls over (at most {@code lease-size - 1} per node and key). Leases are also capped at a quarter
+ * of the limit, so one node can never take a small budget (5 logins a minute) for itself in a single lease.
+ */
+@Component
+public class LeasedRateLimiter {
+
+    private static final long WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final int MIN_LEASES_PER_WINDOW = 4;
+
+    private final RateLimiterBackend backend;
+    private final int leaseSize;
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+
+    // Scheduler for periodic cleanup
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    public LeasedRateLimiter(RateLimiterBackend backend, @Value("${rate-limit.lease-size:5}") int leaseSize) {
+        this.backend = backend;
+        this.leaseSize = leaseSize;
+        scheduler.scheduleAtFixedRate(this::evictExpiredWindows, 1, 1, TimeUnit.MINUTES);
+    }
+
+    /*
+     * Takes one permit for the key in the current window, returns false if the limit is exhausted
+     */
+    public boolean tryAcquire(String key, int limit) {
+        long window = System.currentTimeMillis() / WINDOW_MILLIS;
+        Lease lease = leases.get(key);
+        if (lease == null || lease.window != window) {
+            lease = leases.compute(key, (k, existing) -> existing == null || existing.window != window
+                    ? new Lease(window)
+                    : existing);
+        }
+        if (lease.tryTake()) {
+            return true;
+        }
+
+        synchronized (lease) {
+            if (lease.tryTake()) {
+                return true;
+            }
+            // Once the backend has refused this window there is nothing left anywhere, so don't ask again
+            if (lease.exhausted) {
+                return false;
+            }
+            int requested = Math.max(1, Math.min(leaseSize, limit / MIN_LEASES_PER_WINDOW));
+            int granted = backend.reserve(key, window, requested, limit);
+            if (granted == 0) {
+                lease.exhausted = true;
+                return false;
+            }
+            lease.remaining.addAndGet(granted - 1);
+            return true;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+    }
+
+    private void evictExpiredWindows() {
+        long window = System.currentTimeMillis() / WINDOW_MILLIS;
+        leases.values().removeIf(lease -> lease.window < window);
+        backend.evictBefore(window);
+    }
+
+    private static final class Lease {
+        private final long window;
+        private final AtomicInteger remaining = new AtomicInteger();
+        private volatile boolean exhausted;
+
+        private Lease(long window) {
+            this.window = window;
+        }
+
+        private boolean tryTake() {
+            while (true) {
+                int current = remaining.get();
+                if (current <= 0) {
+                    return false;
+                }
+                if (remaining.compareAndSet(current, current - 1)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
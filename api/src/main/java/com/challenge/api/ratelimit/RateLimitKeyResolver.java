@@ -0,0 +1,17 @@
+package com.challenge.api.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Decides who a request is counted against.
+ *
+ * Every request is first counted against its client address, before any token is parsed. The strategy selected
+ * with {@code rate-limit.key-strategy} then adds a bucket per verified caller, checked once authentication has run.
+ */
+public interface RateLimitKeyResolver {
+
+    /**
+     * @return the bucket key, or null if the request has no identity this resolver can vouch for
+     */
+    String resolve(HttpServletRequest request);
+}
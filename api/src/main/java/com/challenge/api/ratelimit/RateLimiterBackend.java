@@ -0,0 +1,24 @@
+package com.challenge.api.ratelimit;
+
+/**
+ * Shared store of request counts, one counter per rate-limit key and fixed window.
+ *
+ * Replicas don't ask the backend about every request. {@link LeasedRateLimiter} reserves permits in batches and
+ * spends them locally, so a backend backed by a network store (Redis, a database row, ...) only sees one call per
+ * lease. Implementations must make {@link #reserve} atomic across every node sharing the backend.
+ */
+public interface RateLimiterBackend {
+
+    /**
+     * Reserves up to {@code requested} permits for the key in the given window without letting the window's total
+     * exceed {@code limit}.
+     *
+     * @return the number of permits granted, between 0 and {@code requested}
+     */
+    int reserve(String key, long window, int requested, int limit);
+
+    /**
+     * Drops counters for windows older than the given one. Called periodically by each node.
+     */
+    void evictBefore(long window);
+}
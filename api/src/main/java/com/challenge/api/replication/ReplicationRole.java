@@ -0,0 +1,20 @@
+package com.challenge.api.replication;
+
+import java.util.Locale;
+
+/**
+ * Role of this node in replication, configured with {@code replication.role}.
+ */
+public enum ReplicationRole {
+    NONE,
+    LEADER,
+    FOLLOWER;
+
+    /**
+     * Parses {@code replication.role}; the property is case-insensitive, so {@code follower} and {@code FOLLOWER}
+     * configure the same role everywhere it is read.
+     */
+    public static ReplicationRole parse(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,397 @@
+package com.challenge.api.replication;
+
+import com.challenge.api.model.DefaultEmployee;
+import com.challenge.api.model.Employee;
+import com.challenge.api.service.EmployeeCreatedEvent;
+import com.challenge.api.service.EmployeeService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Leader-follower replication of the employee store, selected with {@code replication.role}.
+ *
+ * The leader accepts every create and appends it to an ordered, in-memory mutation log. Followers connect over TCP,
+ * send the epoch of the leader they last synced with and the sequence number of the last entry they applied, and get
+ * every later entry streamed to them in order, along with the leader's current head so they can tell how far behind
+ * they are. When there is nothing to send the leader sends a heartbeat instead. Followers reject writes and refuse
+ * reads once they haven't been caught up for longer than {@code replication.max-staleness}.
+ *
+ * Sequence numbers only mean something within one leader run, so every run picks a random epoch. The log keeps the
+ * last {@code replication.log-retention} entries; a follower from another epoch, or one that fell behind the oldest
+ * retained entry, gets a full snapshot of the leader's store instead: it clears its own store, loads the snapshot and
+ * continues from the log position the snapshot was taken at. Creates are the only mutation, so the store itself is
+ * the compacted log.
+ *
+ * Frames: {@code 'E' seq head length json} for an entry, {@code 'H' head} for a heartbeat, {@code 'S' epoch seq} to
+ * start a snapshot taken at log position seq, {@code 'P' length json} for each snapshot row and {@code 'C'} to end
+ * the snapshot.
+ */
+@Service
+public class ReplicationService {
+
+    private static final byte ENTRY = 'E';
+    private static final byte HEARTBEAT = 'H';
+    private static final byte SNAPSHOT_START = 'S';
+    private static final byte SNAPSHOT_ROW = 'P';
+    private static final byte SNAPSHOT_END = 'C';
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int SNAPSHOT_PAGE_SIZE = 1000;
+    private static final long RECONNECT_DELAY_MILLIS = 1000;
+
+    private final ReplicationRole role;
+    private final EmployeeService employeeService;
+    private final ObjectMapper objectMapper;
+    private final String bindAddress;
+    private final int port;
+    private final String leaderHost;
+    private final int leaderPort;
+    private final long maxStalenessMillis;
+    private final long heartbeatMillis;
+    private final ExecutorService threads;
+
+    private volatile boolean running = true;
+
+    // Leader: a ring of the most recent entries, entry seq lives at log[(seq - 1) % log.length]
+    private final long leaderEpoch;
+    private final byte[][] log;
+    private long head;
+    private ServerSocket serverSocket;
+    private final Set<Socket> followers = ConcurrentHashMap.newKeySet();
+
+    // Follower
+    private volatile long syncedEpoch;
+    private volatile long appliedSequence;
+    private volatile long leaderSequence;
+    private volatile long caughtUpAt;
+    private volatile Socket leaderSocket;
+
+    public ReplicationService(
+            EmployeeService employeeService,
+            ObjectMapper objectMapper,
+            @Value("${replication.role:none}") String role,
+            @Value("${replication.bind-address:127.0.0.1}") String bindAddress,
+            @Value("${replication.port:7070}") int port,
+            @Value("${replication.leader-host:127.0.0.1}") String leaderHost,
+            @Value("${replication.leader-port:7070}") int leaderPort,
+            @Value("${replication.max-staleness:5000}") long maxStalenessMillis,
+            @Value("${replication.heartbeat-interval:500}") long heartbeatMillis,
+            @Value("${replication.log-retention:100000}") int logRetention) {
+        this.employeeService = employeeService;
+        this.objectMapper = objectMapper;
+        this.role = ReplicationRole.parse(role);
+        this.bindAddress = bindAddress;
+        this.port = port;
+        this.leaderHost = leaderHost;
+        this.leaderPort = leaderPort;
+        this.maxStalenessMillis = maxStalenessMillis;
+        this.heartbeatMillis = heartbeatMillis;
+        this.leaderEpoch = newEpoch();
+        this.log = new byte[this.role == ReplicationRole.LEADER ? logRetention : 0][];
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("replication-");
+        threadFactory.setDaemon(true);
+        this.threads = Executors.newCachedThreadPool(threadFactory);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        // Nothing to replay on the leader: employees stored before this run reach followers in the snapshot
+        if (role == ReplicationRole.LEADER) {
+            serverSocket = new ServerSocket(port, 50, InetAddress.getByName(bindAddress));
+            threads.submit(this::acceptFollowers);
+        } else if (role == ReplicationRole.FOLLOWER) {
+            threads.submit(this::followLeader);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        running = false;
+        if (serverSocket != null) {
+            serverSocket.close();
+        }
+        for (Socket follower : followers) {
+            follower.close();
+        }
+        if (leaderSocket != null) {
+            leaderSocket.close();
+        }
+        threads.shutdownNow();
+    }
+
+    @EventListener
+    public void onEmployeeCreated(EmployeeCreatedEvent event) {
+        if (role == ReplicationRole.LEADER) {
+            append(event.employee());
+        }
+    }
+
+    /*
+     * Rejects writes on followers; they would be lost on the next catch-up and never reach the leader
+     */
+    public void checkWritable() {
+        if (role == ReplicationRole.FOLLOWER) {
+            throw new ResponseStatusException(
+                    HttpStatusCode.valueOf(421), "This replica is read-only, send writes to the leader");
+        }
+    }
+
+    /*
+     * Rejects reads on followers that are further behind the leader than the configured staleness bound
+     */
+    public void checkReadable() {
+        if (role == ReplicationRole.FOLLOWER && stalenessMillis() > maxStalenessMillis) {
+            throw new ResponseStatusException(
+                    HttpStatus.SERVICE_UNAVAILABLE, "This replica is too far behind the leader");
+        }
+    }
+
+    public ReplicationStatus getStatus() {
+        if (role != ReplicationRole.FOLLOWER) {
+            long current;
+            synchronized (log) {
+                current = head;
+            }
+            long epoch = role == ReplicationRole.LEADER ? leaderEpoch : 0;
+            return new ReplicationStatus(role, epoch, current, current, 0, 0);
+        }
+        long applied = appliedSequence;
+        long leader = Math.max(leaderSequence, applied);
+        return new ReplicationStatus(role, syncedEpoch, applied, leader, leader - applied, stalenessMillis());
+    }
+
+    private long stalenessMillis() {
+        long caughtUp = caughtUpAt;
+        return caughtUp == 0 ? Long.MAX_VALUE : System.currentTimeMillis() - caughtUp;
+    }
+
+    private static long newEpoch() {
+        // 0 is what a follower that never synced sends, so it must never match
+        long epoch = 0;
+        while (epoch == 0) {
+            epoch = new SecureRandom().nextLong();
+        }
+        return epoch;
+    }
+
+    private byte[] serialize(Employee employee) {
+        try {
+            return objectMapper.writeValueAsBytes(employee);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void append(Employee employee) {
+        byte[] entry = serialize(employee);
+        synchronized (log) {
+            head++;
+            log[slot(head)] = entry;
+            log.notifyAll();
+        }
+    }
+
+    private int slot(long sequence) {
+        return (int) ((sequence - 1) % log.length);
+    }
+
+    /*
+     * Sequence of the oldest entry still in the log; callers hold the log lock
+     */
+    private long oldestRetained() {
+        return Math.max(1, head - log.length + 1);
+    }
+
+    private void acceptFollowers() {
+        while (running) {
+            try {
+                Socket follower = serverSocket.accept();
+                followers.add(follower);
+                threads.submit(() -> shipLog(follower));
+            } catch (IOException e) {
+                // Socket closed on shutdown
+            }
+        }
+    }
+
+    /*
+     * Streams log entries to one follower, batching whatever has accumulated into a single flush.
+     * Starts with a snapshot when the follower can't resume from the log
+     */
+    private void shipLog(Socket follower) {
+        try (follower;
+                DataInputStream in = new DataInputStream(follower.getInputStream());
+                DataOutputStream out =
+                        new DataOutputStream(new BufferedOutputStream(follower.getOutputStream(), BUFFER_SIZE))) {
+            follower.setTcpNoDelay(true);
+            long followerEpoch = in.readLong();
+            long sent = in.readLong();
+            if (followerEpoch != leaderEpoch) {
+                sent = sendSnapshot(out);
+            }
+            while (running) {
+                List<byte[]> pending = new ArrayList<>();
+                long current;
+                boolean resync;
+                synchronized (log) {
+                    if (head <= sent) {
+                        log.wait(heartbeatMillis);
+                    }
+                    current = head;
+                    // Ahead of this run's log, or behind what it still retains
+                    resync = sent > current || sent < oldestRetained() - 1;
+                    for (long seq = sent + 1; !resync && seq <= current; seq++) {
+                        pending.add(log[slot(seq)]);
+                    }
+                }
+
+                if (resync) {
+                    sent = sendSnapshot(out);
+                    continue;
+                }
+                if (pending.isEmpty()) {
+                    out.writeByte(HEARTBEAT);
+                    out.writeLong(current);
+                }
+                for (byte[] entry : pending) {
+                    out.writeByte(ENTRY);
+                    out.writeLong(++sent);
+                    out.writeLong(current);
+                    out.writeInt(entry.length);
+                    out.write(entry);
+                }
+                out.flush();
+            }
+        } catch (IOException e) {
+            // Follower went away; it reconnects and resumes from its last applied entry
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            followers.remove(follower);
+        }
+    }
+
+    /*
+     * Streams the whole store in UUID order and returns the log position it covers.
+     * The position is read before the store, so entries written meanwhile are at worst sent twice
+     */
+    private long sendSnapshot(DataOutputStream out) throws IOException {
+        long snapshotSequence;
+        synchronized (log) {
+            snapshotSequence = head;
+        }
+        out.writeByte(SNAPSHOT_START);
+        out.writeLong(leaderEpoch);
+        out.writeLong(snapshotSequence);
+
+        List<Employee> page = employeeService.getEmployeesPage(null, SNAPSHOT_PAGE_SIZE);
+        while (!page.isEmpty()) {
+            for (Employee employee : page) {
+                byte[] row = serialize(employee);
+                out.writeByte(SNAPSHOT_ROW);
+                out.writeInt(row.length);
+                out.write(row);
+            }
+            UUID after = page.get(page.size() - 1).getUuid();
+            page = employeeService.getEmployeesPage(after, SNAPSHOT_PAGE_SIZE);
+        }
+        out.writeByte(SNAPSHOT_END);
+        out.flush();
+        return snapshotSequence;
+    }
+
+    private void followLeader() {
+        while (running) {
+            try (Socket socket = new Socket(leaderHost, leaderPort)) {
+                leaderSocket = socket;
+                socket.setTcpNoDelay(true);
+                DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+                out.writeLong(syncedEpoch);
+                out.writeLong(appliedSequence);
+                out.flush();
+
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), BUFFER_SIZE));
+                long snapshotEpoch = 0;
+                long snapshotSequence = 0;
+                boolean loadingSnapshot = false;
+                while (running) {
+                    byte type = in.readByte();
+                    if (type == ENTRY) {
+                        long sequence = in.readLong();
+                        leaderSequence = in.readLong();
+                        employeeService.applyReplicated(readEmployee(in));
+                        appliedSequence = sequence;
+                    } else if (type == HEARTBEAT) {
+                        leaderSequence = in.readLong();
+                    } else if (type == SNAPSHOT_START) {
+                        snapshotEpoch = in.readLong();
+                        snapshotSequence = in.readLong();
+                        loadingSnapshot = true;
+                        // Until the snapshot is complete the store matches no leader, so refuse reads and resync
+                        // from scratch if the connection drops halfway
+                        caughtUpAt = 0;
+                        syncedEpoch = 0;
+                        appliedSequence = 0;
+                        leaderSequence = snapshotSequence;
+                        employeeService.clearReplica();
+                    } else if (type == SNAPSHOT_ROW) {
+                        employeeService.applyReplicated(readEmployee(in));
+                    } else if (type == SNAPSHOT_END) {
+                        appliedSequence = snapshotSequence;
+                        syncedEpoch = snapshotEpoch;
+                        loadingSnapshot = false;
+                    } else {
+                        throw new IOException("Unknown replication frame type " + type);
+                    }
+                    if (!loadingSnapshot && appliedSequence >= leaderSequence) {
+                        caughtUpAt = System.currentTimeMillis();
+                    }
+                }
+            } catch (IOException e) {
+                // Leader unreachable or restarted; reads start failing once staleness passes the bound
+                sleepBeforeReconnect();
+            }
+        }
+    }
+
+    private Employee readEmployee(DataInputStream in) throws IOException {
+        byte[] entry = new byte[in.readInt()];
+        in.readFully(entry);
+        return objectMapper.readValue(entry, DefaultEmployee.class);
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(RECONNECT_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.challenge.api.replication;
+
+/**
+ * Replication state of this node.
+ *
+ * @param epoch run id of the leader this node's store was last synced with, 0 before the first sync
+ * @param appliedSequence last log entry applied locally
+ * @param leaderSequence last log entry the leader is known to have
+ * @param lagEntries entries the leader has that this node hasn't applied yet
+ * @param stalenessMillis how long ago this node was last known to be fully caught up with the leader
+ */
+public record ReplicationStatus(
+        ReplicationRole role,
+        long epoch,
+        long appliedSequence,
+        long leaderSequence,
+        long lagEntries,
+        long stalenessMillis) {}
@@ -0,0 +1,46 @@
+package com.challenge.api.repository;
+
+import com.challenge.api.model.Employee;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Storage for employees. Selected with {@code employee.store}: {@code memory} (default) or {@code jdbc}.
+ *
+ * Pages are ordered by UUID and addressed by the last UUID of the previous page (keyset pagination), so reading deep
+ * into the table costs the same as reading the first page.
+ */
+public interface EmployeeRepository {
+
+    Employee save(Employee employee);
+
+    /**
+     * Saves without blocking the caller. Stores that batch writes complete the future when the batch is committed.
+     */
+    default CompletableFuture<Employee> saveAsync(Employee employee) {
+        return CompletableFuture.completedFuture(save(employee));
+    }
+
+    /**
+     * Saves a batch of employees, e.g. from a bulk import, in as few round trips as the store allows.
+     */
+    default void saveAll(List<Employee> employees) {
+        employees.forEach(this::save);
+    }
+
+    Employee findByUuid(UUID uuid);
+
+    List<Employee> findAll();
+
+    /**
+     * @param after last UUID of the previous page, or null for the first page
+     * @param limit maximum number of employees to return
+     */
+    List<Employee> findPage(UUID after, int limit);
+
+    /**
+     * Removes every employee, used by a replica that is about to reload the leader's full snapshot.
+     */
+    void deleteAll();
+}
@@ -0,0 +1,46 @@
+package com.challenge.api.repository;
+
+import com.challenge.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@ConditionalOnProperty(name = "employee.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryEmployeeRepository implements EmployeeRepository {
+
+    // Sorted by UUID so pages can be cut with tailMap
+    private final ConcurrentSkipListMap<UUID, Employee> employeeMap = new ConcurrentSkipListMap<>();
+
+    @Override
+    public Employee save(Employee employee) {
+        employeeMap.put(employee.getUuid(), employee);
+        return employee;
+    }
+
+    @Override
+    public Employee findByUuid(UUID uuid) {
+        return employeeMap.get(uuid);
+    }
+
+    @Override
+    public List<Employee> findAll() {
+        return new ArrayList<>(employeeMap.values());
+    }
+
+    @Override
+    public List<Employee> findPage(UUID after, int limit) {
+        Collection<Employee> candidates =
+                after == null ? employeeMap.values() : employeeMap.tailMap(after, false).values();
+        return candidates.stream().limit(limit).toList();
+    }
+
+    @Override
+    public void deleteAll() {
+        employeeMap.clear();
+    }
+}
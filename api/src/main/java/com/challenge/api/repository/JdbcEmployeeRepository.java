@@ -0,0 +1,254 @@
+package com.challenge.api.repository;
+
+import com.challenge.api.model.DefaultEmployee;
+import com.challenge.api.model.Employee;
+import jakarta.annotation.PreDestroy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Employee storage in a relational database, see schema.sql.
+ *
+ * Inserts are not executed on the caller's thread. They are queued and a single writer thread drains the queue,
+ * waiting up to {@code employee.jdbc.linger} for more inserts to arrive, and writes whatever it collected as one JDBC
+ * batch in one transaction. Under load that turns many round trips and commits into a few; an idle store only adds
+ * the linger to a lone insert. If a batch fails, its rows are retried one by one so a single bad row only fails its
+ * own caller.
+ *
+ * On shutdown the writer gets {@code employee.jdbc.shutdown-timeout} to write what is queued. Inserts still queued
+ * after that, or arriving once shutdown started, fail with a RejectedExecutionException, so no caller waits forever.
+ */
+@Repository
+@ConditionalOnProperty(name = "employee.store", havingValue = "jdbc")
+public class JdbcEmployeeRepository implements EmployeeRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO employee (uuid, first_name, last_name, full_name, salary,"
+            + " age, job_title, email, contract_hire_date, contract_termination_date)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_SQL = "SELECT uuid, first_name, last_name, full_name, salary, age, job_title,"
+            + " email, contract_hire_date, contract_termination_date FROM employee";
+    private static final String FIND_BY_UUID_SQL = SELECT_SQL + " WHERE uuid = ?";
+    private static final String FIRST_PAGE_SQL = SELECT_SQL + " ORDER BY uuid LIMIT ?";
+    private static final String NEXT_PAGE_SQL = SELECT_SQL + " WHERE uuid > ? ORDER BY uuid LIMIT ?";
+    private static final String DELETE_ALL_SQL = "DELETE FROM employee";
+
+    private static final int READ_PAGE_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<PendingInsert> pendingInserts;
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final long shutdownTimeoutMillis;
+    private final Thread writer;
+
+    private volatile boolean running = true;
+
+    public JdbcEmployeeRepository(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${employee.jdbc.max-batch-size:500}") int maxBatchSize,
+            @Value("${employee.jdbc.linger:2}") long lingerMillis,
+            @Value("${employee.jdbc.queue-capacity:10000}") int queueCapacity,
+            @Value("${employee.jdbc.shutdown-timeout:10000}") long shutdownTimeoutMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+        this.pendingInserts = new ArrayBlockingQueue<>(queueCapacity);
+        this.writer = new Thread(this::writeBatches, "employee-jdbc-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // The writer finishes what is already queued before exiting, whatever it doesn't get to in time is failed
+        running = false;
+        writer.join(shutdownTimeoutMillis);
+        List<PendingInsert> abandoned = new ArrayList<>();
+        pendingInserts.drainTo(abandoned);
+        abandoned.forEach(insert -> insert.result().completeExceptionally(shuttingDown()));
+    }
+
+    @Override
+    public Employee save(Employee employee) {
+        try {
+            return saveAsync(employee).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public CompletableFuture<Employee> saveAsync(Employee employee) {
+        PendingInsert insert = new PendingInsert(employee, new CompletableFuture<>());
+        if (!running) {
+            return CompletableFuture.failedFuture(shuttingDown());
+        }
+        if (!pendingInserts.offer(insert)) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Employee write queue is full"));
+        }
+        // Shutdown may have drained the queue between the check and the offer, nothing would write or fail it then
+        if (!running && pendingInserts.remove(insert)) {
+            return CompletableFuture.failedFuture(shuttingDown());
+        }
+        // Callers get a copy, so one applying e.g. orTimeout can't fail the insert the writer is about to commit
+        return insert.result().copy();
+    }
+
+    /*
+     * Bulk writes are already batched by the caller, so they skip the queue and linger
+     */
+    @Override
+    public void saveAll(List<Employee> employees) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                INSERT_SQL, employees, employees.size(), JdbcEmployeeRepository::bindEmployee));
+    }
+
+    @Override
+    public Employee findByUuid(UUID uuid) {
+        List<Employee> employees = jdbcTemplate.query(FIND_BY_UUID_SQL, JdbcEmployeeRepository::mapEmployee, uuid);
+        return employees.isEmpty() ? null : employees.get(0);
+    }
+
+    @Override
+    public List<Employee> findAll() {
+        List<Employee> employees = new ArrayList<>();
+        List<Employee> page = findPage(null, READ_PAGE_SIZE);
+        while (!page.isEmpty()) {
+            employees.addAll(page);
+            page = findPage(page.get(page.size() - 1).getUuid(), READ_PAGE_SIZE);
+        }
+        return employees;
+    }
+
+    @Override
+    public List<Employee> findPage(UUID after, int limit) {
+        if (after == null) {
+            return jdbcTemplate.query(FIRST_PAGE_SQL, JdbcEmployeeRepository::mapEmployee, limit);
+        }
+        return jdbcTemplate.query(NEXT_PAGE_SQL, JdbcEmployeeRepository::mapEmployee, after, limit);
+    }
+
+    @Override
+    public void deleteAll() {
+        jdbcTemplate.update(DELETE_ALL_SQL);
+    }
+
+    private void writeBatches() {
+        List<PendingInsert> batch = new ArrayList<>(maxBatchSize);
+        while (running || !pendingInserts.isEmpty()) {
+            try {
+                PendingInsert first = pendingInserts.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // Linger briefly so concurrent callers land in the same batch
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingInsert next = remaining > 0
+                            ? pendingInserts.poll(remaining, TimeUnit.NANOSECONDS)
+                            : pendingInserts.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                // Write what was collected, shutdown fails the rest of the queue
+                running = false;
+                flush(batch);
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingInsert> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                    INSERT_SQL, batch, batch.size(), (ps, insert) -> bindEmployee(ps, insert.employee())));
+            batch.forEach(insert -> insert.result().complete(insert.employee()));
+        } catch (RuntimeException batchFailure) {
+            for (PendingInsert insert : batch) {
+                try {
+                    jdbcTemplate.update(INSERT_SQL, ps -> bindEmployee(ps, insert.employee()));
+                    insert.result().complete(insert.employee());
+                } catch (RuntimeException e) {
+                    insert.result().completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    private static RejectedExecutionException shuttingDown() {
+        return new RejectedExecutionException("Employee store is shutting down");
+    }
+
+    private static void bindEmployee(PreparedStatement ps, Employee e) throws SQLException {
+        ps.setObject(1, e.getUuid());
+        ps.setString(2, e.getFirstName());
+        ps.setString(3, e.getLastName());
+        ps.setString(4, e.getFullName());
+        ps.setObject(5, e.getSalary());
+        ps.setObject(6, e.getAge());
+        ps.setString(7, e.getJobTitle());
+        ps.setString(8, e.getEmail());
+        ps.setObject(9, toTimestamp(e.getContractHireDate()));
+        ps.setObject(10, toTimestamp(e.getContractTerminationDate()));
+    }
+
+    private static Employee mapEmployee(ResultSet rs, int rowNum) throws SQLException {
+        Employee e = new DefaultEmployee();
+        e.setUuid(rs.getObject("uuid", UUID.class));
+        e.setFirstName(rs.getString("first_name"));
+        e.setLastName(rs.getString("last_name"));
+        e.setFullName(rs.getString("full_name"));
+        e.setSalary(rs.getObject("salary", Integer.class));
+        e.setAge(rs.getObject("age", Integer.class));
+        e.setJobTitle(rs.getString("job_title"));
+        e.setEmail(rs.getString("email"));
+        e.setContractHireDate(toInstant(rs.getObject("contract_hire_date", OffsetDateTime.class)));
+        e.setContractTerminationDate(toInstant(rs.getObject("contract_termination_date", OffsetDateTime.class)));
+        return e;
+    }
+
+    private static OffsetDateTime toTimestamp(Instant instant) {
+        return instant == null ? null : OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    private static Instant toInstant(OffsetDateTime timestamp) {
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+
+    private record PendingInsert(Employee employee, CompletableFuture<Employee> result) {}
+}
@@ -0,0 +1,114 @@
+package com.challenge.api.request;
+
+import com.challenge.api.model.DefaultEmployee;
+import com.challenge.api.model.Employee;
+import java.time.Instant;
+import java.util.regex.Pattern;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Validation and normalization rules for employee input, shared by the REST API and the bulk importer.
+ */
+@Component
+public class EmployeeRequestValidator {
+
+    // Regex patterns for validation
+    private static final Pattern NAME_PATTERN = Pattern.compile("^[a-zA-Z\\s-']{2,50}$");
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+    private static final Pattern JOB_TITLE_PATTERN = Pattern.compile("^[a-zA-Z\\s-']{2,100}$");
+    private static final Pattern SALARY_PATTERN = Pattern.compile("^[0-9]{1,7}$");
+
+    /*
+     * Validates input for employee, throws a 400 ResponseStatusException describing the first problem found
+     * I understand there are annotations to do this, however the dependencies were causing build errors
+     * Drawback of this is that only the first caught error is reported back to the user
+     */
+    public void validate(EmployeeRequest request) {
+        if (request == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Request body cannot be null");
+        }
+
+        // Validate First Name
+        if (request.getFirstName() == null || request.getFirstName().trim().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "First name is required");
+        }
+        if (!NAME_PATTERN.matcher(request.getFirstName().trim()).matches()) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "First name must contain only letters, spaces, hyphens, and apostrophes (2-50 characters)");
+        }
+
+        // Validate Last Name
+        if (request.getLastName() == null || request.getLastName().trim().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Last name is required");
+        }
+        if (!NAME_PATTERN.matcher(request.getLastName().trim()).matches()) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Last name must contain only letters, spaces, hyphens, and apostrophes (2-50 characters)");
+        }
+
+        // Validate Email
+        if (request.getEmail() == null || request.getEmail().trim().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Email is required");
+        }
+        if (!EMAIL_PATTERN.matcher(request.getEmail().trim().toLowerCase()).matches()) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "Invalid email format. Must be in format: username@domain.com");
+        }
+
+        // Validate Salary
+        if (request.getSalary() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Salary is required");
+        }
+        String salaryStr = String.valueOf(request.getSalary());
+        if (!SALARY_PATTERN.matcher(salaryStr).matches()) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "Salary must be a positive number with no decimal places");
+        }
+        if (request.getSalary() <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Salary must be positive");
+        }
+        if (request.getSalary() > 1000000) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Salary seems unreasonably high");
+        }
+
+        // Validate Job Title
+        if (request.getJobTitle() == null || request.getJobTitle().trim().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Job title is required");
+        }
+        if (!JOB_TITLE_PATTERN.matcher(request.getJobTitle().trim()).matches()) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Job title must contain only letters, spaces, hyphens, and apostrophes (2-100 characters)");
+        }
+
+        // Validate Contract Hire Date
+        if (request.getContractHireDate() != null) {
+            Instant now = Instant.now();
+            if (request.getContractHireDate().isAfter(now)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Contract hire date cannot be in the future");
+            }
+        }
+    }
+
+    /*
+     * Builds the employee for a validated request, trimming names and lower-casing the email
+     */
+    public Employee toEmployee(EmployeeRequest request) {
+        Employee employee = new DefaultEmployee(
+                request.getFirstName().trim(),
+                request.getLastName().trim(),
+                request.getSalary(),
+                request.getJobTitle().trim(),
+                request.getEmail().trim().toLowerCase());
+
+        // Set contract hire date if provided in request
+        if (request.getContractHireDate() != null) {
+            employee.setContractHireDate(request.getContractHireDate());
+        }
+        return employee;
+    }
+}
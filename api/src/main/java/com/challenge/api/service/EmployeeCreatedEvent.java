@@ -0,0 +1,8 @@
+package com.challenge.api.service;
+
+import com.challenge.api.model.Employee;
+
+/**
+ * Published by {@link EmployeeService} after an employee has been written to the store.
+ */
+public record EmployeeCreatedEvent(Employee employee) {}
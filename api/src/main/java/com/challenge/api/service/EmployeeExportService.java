@@ -0,0 +1,142 @@
+package com.challenge.api.service;
+
+import com.challenge.api.model.Employee;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.stereotype.Service;
+
+/**
+ * Writes the whole employee store to a stream, one page at a time.
+ *
+ * Rows are read in UUID order with keyset paging and written through a fixed-size buffer, so memory use doesn't grow
+ * with the size of the store. Because of that ordering an interrupted export can be resumed by passing the UUID of the
+ * last complete row received as the cursor.
+ */
+@Service
+public class EmployeeExportService {
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private static final int PAGE_SIZE = 1000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER = "uuid,firstName,lastName,fullName,salary,age,jobTitle,email,"
+            + "contractHireDate,contractTerminationDate\n";
+
+    private final EmployeeService employeeService;
+    private final ObjectWriter employeeWriter;
+    private final ObjectMapper objectMapper;
+
+    public EmployeeExportService(EmployeeService employeeService, ObjectMapper objectMapper) {
+        this.employeeService = employeeService;
+        this.objectMapper = objectMapper;
+        // The buffer decides when to flush, not every row
+        this.employeeWriter =
+                objectMapper.writerFor(Employee.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /*
+     * Writes every employee after the cursor (null for all of them) to out. Does not close out
+     */
+    public void export(Format format, UUID cursor, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        if (format == Format.CSV) {
+            // A resumed export continues an existing file, which already has its header
+            if (cursor == null) {
+                writer.write(CSV_HEADER);
+            }
+            forEachPage(cursor, page -> {
+                for (Employee e : page) {
+                    writeCsvRow(writer, e);
+                }
+            });
+        } else {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Rows are separated by the newline below; the default separator would start every later line with a space
+            generator.setRootValueSeparator(null);
+            forEachPage(cursor, page -> {
+                for (Employee e : page) {
+                    employeeWriter.writeValue(generator, e);
+                    generator.writeRaw('\n');
+                }
+            });
+            generator.flush();
+        }
+        writer.flush();
+    }
+
+    private void forEachPage(UUID cursor, PageConsumer consumer) throws IOException {
+        List<Employee> page = employeeService.getEmployeesPage(cursor, PAGE_SIZE);
+        while (!page.isEmpty()) {
+            consumer.accept(page);
+            if (page.size() < PAGE_SIZE) {
+                return;
+            }
+            page = employeeService.getEmployeesPage(page.get(page.size() - 1).getUuid(), PAGE_SIZE);
+        }
+    }
+
+    private static void writeCsvRow(Writer writer, Employee e) throws IOException {
+        writer.write(String.valueOf(e.getUuid()));
+        writeCsvField(writer, e.getFirstName());
+        writeCsvField(writer, e.getLastName());
+        writeCsvField(writer, e.getFullName());
+        writeCsvField(writer, e.getSalary());
+        writeCsvField(writer, e.getAge());
+        writeCsvField(writer, e.getJobTitle());
+        writeCsvField(writer, e.getEmail());
+        writeCsvField(writer, e.getContractHireDate());
+        writeCsvField(writer, e.getContractTerminationDate());
+        writer.write('\n');
+    }
+
+    private static void writeCsvField(Writer writer, Object value) throws IOException {
+        writer.write(',');
+        if (value == null) {
+            return;
+        }
+        String text = value instanceof Instant instant ? instant.toString() : value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    @FunctionalInterface
+    private interface PageConsumer {
+        void accept(List<Employee> page) throws IOException;
+    }
+}
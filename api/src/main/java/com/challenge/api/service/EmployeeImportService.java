@@ -0,0 +1,446 @@
+package com.challenge.api.service;
+
+import com.challenge.api.model.Employee;
+import com.challenge.api.request.EmployeeRequest;
+import com.challenge.api.request.EmployeeRequestValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Bulk import of employees from JSONL or CSV files.
+ *
+ * The file is split into chunks at line boundaries, and each chunk is memory-mapped and parsed by its own worker, so
+ * throughput scales with cores and the file is never copied onto the heap as a whole. Rows go through the same
+ * {@link EmployeeRequestValidator} as the REST API and reach the store in batches. Rows that can't be imported are
+ * written to {@code <file>.rejects} as {@code byte offset <TAB> reason <TAB> original line}.
+ *
+ * CSV files need a header row naming the columns: firstName, lastName, salary, jobTitle, email and, optionally,
+ * contractHireDate (ISO-8601).
+ *
+ * Finished jobs stay available for polling for {@code employee.import.job-ttl}, then they are forgotten.
+ */
+@Service
+public class EmployeeImportService {
+
+    public enum Format {
+        JSONL,
+        CSV;
+
+        public static Format fromFileName(String fileName) {
+            return fileName.toLowerCase(Locale.ROOT).endsWith(".csv") ? CSV : JSONL;
+        }
+    }
+
+    // Keeps each mapping well under the 2GB limit of a single MappedByteBuffer
+    private static final long MAX_CHUNK_BYTES = 256L * 1024 * 1024;
+    private static final int BATCH_SIZE = 500;
+    private static final List<String> REQUIRED_CSV_COLUMNS =
+            List.of("firstName", "lastName", "salary", "jobTitle", "email");
+    private static final List<String> CSV_COLUMNS =
+            List.of("firstName", "lastName", "salary", "jobTitle", "email", "contractHireDate");
+
+    private final EmployeeService employeeService;
+    private final EmployeeRequestValidator validator;
+    private final ObjectReader requestReader;
+    private final int parallelism;
+    private final long jobTtlMillis;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    // One import at a time; its chunks are spread over the workers
+    private final ExecutorService jobRunner = Executors.newSingleThreadExecutor();
+    private final ExecutorService chunkWorkers;
+
+    public EmployeeImportService(
+            EmployeeService employeeService,
+            EmployeeRequestValidator validator,
+            ObjectMapper objectMapper,
+            @Value("${employee.import.parallelism:0}") int parallelism,
+            @Value("${employee.import.job-ttl:86400000}") long jobTtlMillis) {
+        this.employeeService = employeeService;
+        this.validator = validator;
+        this.requestReader = objectMapper.readerFor(EmployeeRequest.class);
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.chunkWorkers = Executors.newFixedThreadPool(this.parallelism);
+        this.jobTtlMillis = jobTtlMillis;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobRunner.shutdownNow();
+        chunkWorkers.shutdownNow();
+    }
+
+    /*
+     * Queues an import and returns immediately; poll getJob for progress
+     */
+    public ImportJob submit(Path file, Format format) {
+        ImportJob job = new ImportJob(file);
+        evictFinishedJobs();
+        jobs.put(job.getId(), job);
+        jobRunner.submit(() -> run(job, format));
+        return job;
+    }
+
+    /*
+     * Runs an import on the calling thread, used by the command line entry point
+     */
+    public ImportJob runNow(Path file, Format format) {
+        ImportJob job = new ImportJob(file);
+        evictFinishedJobs();
+        jobs.put(job.getId(), job);
+        run(job, format);
+        return job;
+    }
+
+    public ImportJob getJob(String id) {
+        evictFinishedJobs();
+        return jobs.get(id);
+    }
+
+    /*
+     * Drops jobs that finished more than job-ttl ago; running jobs are kept however long they take
+     */
+    private void evictFinishedJobs() {
+        Instant cutoff = Instant.now().minusMillis(jobTtlMillis);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    private void run(ImportJob job, Format format) {
+        try (FileChannel channel = FileChannel.open(job.filePath(), StandardOpenOption.READ);
+                BufferedWriter rejects = Files.newBufferedWriter(job.rejectFilePath(), StandardCharsets.UTF_8)) {
+            long size = channel.size();
+            job.setTotalBytes(size);
+
+            long dataStart = 0;
+            Map<String, Integer> columns = null;
+            if (format == Format.CSV) {
+                dataStart = nextLineStart(channel, 0, size);
+                String header = readString(channel, 0, dataStart);
+                columns = parseCsvHeader(header);
+                job.recordProgress(dataStart, 0, 0);
+            }
+
+            RejectWriter rejectWriter = new RejectWriter(rejects);
+            List<Future<?>> chunks = new ArrayList<>();
+            for (long[] chunk : split(channel, dataStart, size)) {
+                Map<String, Integer> chunkColumns = columns;
+                chunks.add(chunkWorkers.submit(() -> importChunk(
+                        job, channel, chunk[0], chunk[1], format, chunkColumns, rejectWriter)));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+            job.complete();
+        } catch (ExecutionException e) {
+            job.fail(e.getCause() instanceof Exception cause ? cause : e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail(e);
+        } catch (IOException | RuntimeException e) {
+            job.fail(e);
+        }
+    }
+
+    /*
+     * Cuts [start, end) into roughly equal ranges, each ending just after a newline
+     */
+    private List<long[]> split(FileChannel channel, long start, long end) throws IOException {
+        long length = end - start;
+        long count = Math.max(parallelism, (length + MAX_CHUNK_BYTES - 1) / MAX_CHUNK_BYTES);
+        List<long[]> chunks = new ArrayList<>();
+        long chunkStart = start;
+        for (long i = 1; i <= count && chunkStart < end; i++) {
+            long chunkEnd = i == count ? end : nextLineStart(channel, start + length * i / count, end);
+            if (chunkEnd > chunkStart) {
+                chunks.add(new long[] {chunkStart, chunkEnd});
+                chunkStart = chunkEnd;
+            }
+        }
+        return chunks;
+    }
+
+    private void importChunk(
+            ImportJob job,
+            FileChannel channel,
+            long start,
+            long end,
+            Format format,
+            Map<String, Integer> columns,
+            RejectWriter rejects) {
+        MappedByteBuffer buffer;
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        ChunkState state = new ChunkState(job, rejects);
+        int limit = buffer.limit();
+        int lineStart = 0;
+        for (int i = 0; i <= limit; i++) {
+            if (i == limit || buffer.get(i) == '\n') {
+                if (i > lineStart) {
+                    importLine(state, buffer, lineStart, i, start + lineStart, format, columns);
+                }
+                state.bytes += i - lineStart + (i < limit ? 1 : 0);
+                lineStart = i + 1;
+            }
+        }
+        state.flush();
+    }
+
+    private void importLine(
+            ChunkState state,
+            ByteBuffer buffer,
+            int from,
+            int to,
+            long offset,
+            Format format,
+            Map<String, Integer> columns) {
+        if (to > from && buffer.get(to - 1) == '\r') {
+            to--;
+        }
+        if (to == from) {
+            return;
+        }
+        byte[] bytes = new byte[to - from];
+        buffer.get(from, bytes);
+
+        EmployeeRequest request;
+        try {
+            if (format == Format.CSV) {
+                request = parseCsvRow(bytes, columns);
+            } else {
+                request = requestReader.readValue(bytes);
+            }
+        } catch (IOException e) {
+            state.reject(offset, "Malformed JSON", bytes);
+            return;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            state.reject(offset, e.getMessage(), bytes);
+            return;
+        }
+
+        try {
+            validator.validate(request);
+        } catch (ResponseStatusException e) {
+            state.reject(offset, e.getReason(), bytes);
+            return;
+        }
+        state.add(offset, bytes, validator.toEmployee(request));
+    }
+
+    private static EmployeeRequest parseCsvRow(byte[] bytes, Map<String, Integer> columns) {
+        List<String> fields = parseCsvLine(new String(bytes, StandardCharsets.UTF_8));
+        EmployeeRequest request = new EmployeeRequest();
+        request.setFirstName(field(fields, columns, "firstName"));
+        request.setLastName(field(fields, columns, "lastName"));
+        request.setJobTitle(field(fields, columns, "jobTitle"));
+        request.setEmail(field(fields, columns, "email"));
+
+        String salary = field(fields, columns, "salary");
+        if (salary != null) {
+            try {
+                request.setSalary(Integer.valueOf(salary.trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Salary must be a positive number with no decimal places");
+            }
+        }
+        String hireDate = field(fields, columns, "contractHireDate");
+        if (hireDate != null) {
+            request.setContractHireDate(Instant.parse(hireDate.trim()));
+        }
+        return request;
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Map<String, Integer> parseCsvHeader(String header) {
+        List<String> names = parseCsvLine(header.strip());
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            for (String column : CSV_COLUMNS) {
+                if (column.equalsIgnoreCase(names.get(i).strip())) {
+                    columns.put(column, i);
+                }
+            }
+        }
+        for (String column : REQUIRED_CSV_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                throw new IllegalArgumentException("CSV header is missing the " + column + " column");
+            }
+        }
+        return columns;
+    }
+
+    /*
+     * Splits one CSV line, honouring double-quoted fields with "" as an escaped quote
+     */
+    private static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /*
+     * Position just after the first newline at or after from, or end if there is none
+     */
+    private static long nextLineStart(FileChannel channel, long from, long end) throws IOException {
+        ByteBuffer window = ByteBuffer.allocate(8192);
+        long position = from;
+        while (position < end) {
+            window.clear();
+            int read = channel.read(window, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (window.get(i) == '\n') {
+                    return Math.min(position + i + 1, end);
+                }
+            }
+            position += read;
+        }
+        return end;
+    }
+
+    private static String readString(FileChannel channel, long from, long to) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate((int) (to - from));
+        while (bytes.hasRemaining()) {
+            if (channel.read(bytes, from + bytes.position()) <= 0) {
+                break;
+            }
+        }
+        return new String(bytes.array(), 0, bytes.position(), StandardCharsets.UTF_8);
+    }
+
+    /*
+     * Reject file shared by all workers of one import
+     */
+    private static final class RejectWriter {
+        private final BufferedWriter writer;
+
+        private RejectWriter(BufferedWriter writer) {
+            this.writer = writer;
+        }
+
+        private synchronized void write(long offset, String reason, byte[] line) {
+            try {
+                writer.write(offset + "\t" + reason + "\t" + new String(line, StandardCharsets.UTF_8));
+                writer.newLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /*
+     * Per-worker batch and counters, published to the job once per batch
+     */
+    private final class ChunkState {
+        private final ImportJob job;
+        private final RejectWriter rejects;
+        private final List<Employee> batch = new ArrayList<>(BATCH_SIZE);
+        private final List<Long> batchOffsets = new ArrayList<>(BATCH_SIZE);
+        private final List<byte[]> batchLines = new ArrayList<>(BATCH_SIZE);
+        private long bytes;
+        private long rejected;
+
+        private ChunkState(ImportJob job, RejectWriter rejects) {
+            this.job = job;
+            this.rejects = rejects;
+        }
+
+        private void reject(long offset, String reason, byte[] line) {
+            rejects.write(offset, reason, line);
+            rejected++;
+        }
+
+        private void add(long offset, byte[] line, Employee employee) {
+            batch.add(employee);
+            batchOffsets.add(offset);
+            batchLines.add(line);
+            if (batch.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            long imported = batch.size();
+            if (!batch.isEmpty()) {
+                Set<Employee> skipped = Collections.newSetFromMap(new IdentityHashMap<>());
+                skipped.addAll(employeeService.importEmployees(batch));
+                for (int i = 0; i < batch.size(); i++) {
+                    if (skipped.contains(batch.get(i))) {
+                        reject(batchOffsets.get(i), "An employee with this email already exists", batchLines.get(i));
+                    }
+                }
+                imported -= skipped.size();
+            }
+            job.recordProgress(bytes, imported, rejected);
+            batch.clear();
+            batchOffsets.clear();
+            batchLines.clear();
+            bytes = 0;
+            rejected = 0;
+        }
+    }
+}
@@ -1,65 +1,314 @@
 package com.challenge.api.service;
 
+import com.challenge.api.diagnostics.StoreOperationEvent;
 import com.challenge.api.model.DefaultEmployee;
 import com.challenge.api.model.Employee;
+import com.challenge.api.replication.ReplicationRole;
+import com.challenge.api.repository.EmployeeRepository;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 @Service
 public class EmployeeService {
-    private static HashMap<UUID, Employee> employeeMap;
+    private final EmployeeRepository employeeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Lower-cased email -> owning employee, used to reject duplicate sign-ups
+    private final Map<String, UUID> emailIndex = new ConcurrentHashMap<>();
+
+    // Hire/termination index for as-of queries, rebuilt in the background after writes
+    private final LiveEmploymentIndex employmentIndex;
+
+    @Value("${employee.unique-email:false}")
+    private boolean uniqueEmail;
+
+    @Value("${replication.role:none}")
+    private String replicationRole;
+
+    // Fixed-size pool behind the non-blocking API, with a bounded queue so overload is rejected instead of piling up
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    public EmployeeService(
+            EmployeeRepository employeeRepository,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${employee.async.pool-size:8}") int poolSize,
+            @Value("${employee.async.queue-capacity:1000}") int queueCapacity,
+            @Value("${employee.async.timeout:5000}") long timeoutMillis,
+            @Value("${employee.index.rebuild-delay:1000}") long indexRebuildDelayMillis,
+            @Value("${employee.index.max-overlay:1000}") int indexMaxOverlay) {
+        this.employeeRepository = employeeRepository;
+        this.eventPublisher = eventPublisher;
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("employee-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutMillis = timeoutMillis;
+        this.employmentIndex =
+                new LiveEmploymentIndex(employeeRepository::findAll, indexRebuildDelayMillis, indexMaxOverlay);
+    }
 
     @PostConstruct
     public void createEmployees() {
-        employeeMap = new HashMap<>();
+        // A persistent store keeps its employees across restarts, only seed an empty one
+        // Followers get all of their employees from the leader
+        List<Employee> existing = employeeRepository.findAll();
+        for (Employee e : existing) {
+            if (e.getEmail() != null) {
+                emailIndex.putIfAbsent(e.getEmail().toLowerCase(), e.getUuid());
+            }
+        }
+        employmentIndex.replace(existing);
+        if (!existing.isEmpty() || ReplicationRole.parse(replicationRole) == ReplicationRole.FOLLOWER) {
+            return;
+        }
+
         Employee e1 = new DefaultEmployee("Anthony", "Apicella", 100000, "Manager", "anthonyap@gmail.com");
         Employee e2 = new DefaultEmployee("Charles", "Wattick", 90000, "Salesman", "charleswa@gmail.com");
         Employee e3 = new DefaultEmployee("Benjamin", "Mapp", 80000, "Software Engineer", "benjaminma@gmail.com");
         Employee e4 = new DefaultEmployee("Aidan", "Fecteau", 200000, "CEO", "aidanfe@gmail.com");
         Employee e5 = new DefaultEmployee("Peter", "Chelap", 50000, "Accountant", "peterche@gmail.com");
 
-        employeeMap.put(e1.getUuid(), e1);
-        employeeMap.put(e2.getUuid(), e2);
-        employeeMap.put(e3.getUuid(), e3);
-        employeeMap.put(e4.getUuid(), e4);
-        employeeMap.put(e5.getUuid(), e5);
-        /*
-        for(UUID u: employeeMap.keySet()) {
-        	System.out.println(employeeMap.get(u).getFirstName());
-        }
-        */
+        createEmployee(e1);
+        createEmployee(e2);
+        createEmployee(e3);
+        createEmployee(e4);
+        createEmployee(e5);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        employmentIndex.shutdown();
     }
 
     /*
-     * Returns all employees in map
+     * Returns all employees in the store
      */
     public List<Employee> getAllEmployees() {
-        return new ArrayList<>(employeeMap.values());
+        StoreOperationEvent event = StoreOperationEvent.start("findAll");
+        List<Employee> employees = employeeRepository.findAll();
+        event.finish(employees.size());
+        return employees;
+    }
+
+    /*
+     * Returns up to limit employees ordered by UUID, starting after the given UUID (null for the first page)
+     */
+    public List<Employee> getEmployeesPage(UUID after, int limit) {
+        StoreOperationEvent event = StoreOperationEvent.start("findPage");
+        List<Employee> page = employeeRepository.findPage(after, limit);
+        event.finish(page.size());
+        return page;
     }
 
     /*
      * Returns employee with corresponding UUID
      */
     public Employee getEmployeeByUUID(UUID u) {
-        return employeeMap.get(u);
+        StoreOperationEvent event = StoreOperationEvent.start("findByUuid");
+        Employee employee = employeeRepository.findByUuid(u);
+        event.finish(employee == null ? 0 : 1);
+        return employee;
+    }
+
+    /*
+     * Returns the employees employed at the given instant: hired at or before it and not yet terminated
+     */
+    public List<Employee> getEmployeesAsOf(Instant asOf) {
+        return employmentIndex.snapshot().employedAt(asOf);
+    }
+
+    /*
+     * Returns the headcount at the start of each month from first to last, inclusive
+     */
+    public List<MonthlyHeadcount> getMonthlyHeadcount(YearMonth first, YearMonth last) {
+        LiveEmploymentIndex.Snapshot index = employmentIndex.snapshot();
+        List<MonthlyHeadcount> headcounts = new ArrayList<>();
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            Instant start = month.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+            headcounts.add(new MonthlyHeadcount(month, index.headcountAt(start)));
+        }
+        return headcounts;
     }
 
     /*
      *Creates an employee
+     * When employee.unique-email is enabled, the email is claimed atomically before the insert,
+     * so two concurrent requests for the same address cannot both succeed
      */
     public Employee createEmployee(Employee e) {
+        prepareForInsert(e);
+        StoreOperationEvent event = StoreOperationEvent.start("save");
+        try {
+            employeeRepository.save(e);
+            event.finish(1);
+        } catch (RuntimeException ex) {
+            releaseEmail(e);
+            throw ex;
+        }
+        employmentIndex.added(List.of(e));
+        eventPublisher.publishEvent(new EmployeeCreatedEvent(e));
+        return e;
+    }
+
+    /*
+     * Applies an employee created on the replication leader. The leader has already validated it
+     */
+    public void applyReplicated(Employee e) {
+        // Entries created while the leader streamed its snapshot arrive twice, the second copy is a no-op
+        if (employeeRepository.findByUuid(e.getUuid()) != null) {
+            return;
+        }
+        if (e.getEmail() != null) {
+            emailIndex.putIfAbsent(e.getEmail().toLowerCase(), e.getUuid());
+        }
+        employeeRepository.save(e);
+        employmentIndex.added(List.of(e));
+    }
+
+    /*
+     * Drops every employee on a follower before it reloads the leader's snapshot
+     */
+    public void clearReplica() {
+        employeeRepository.deleteAll();
+        emailIndex.clear();
+        employmentIndex.replace(List.of());
+    }
+
+    /*
+     * Creates a batch of employees in one store write, used by the bulk importer
+     * Returns the employees skipped because their email is already taken (only when unique emails are enforced)
+     */
+    public List<Employee> importEmployees(List<Employee> employees) {
+        List<Employee> accepted = new ArrayList<>(employees.size());
+        List<Employee> skipped = new ArrayList<>();
+        for (Employee e : employees) {
+            try {
+                prepareForInsert(e);
+                accepted.add(e);
+            } catch (ResponseStatusException ex) {
+                skipped.add(e);
+            }
+        }
+        StoreOperationEvent event = StoreOperationEvent.start("saveAll");
+        try {
+            employeeRepository.saveAll(accepted);
+            event.finish(accepted.size());
+        } catch (RuntimeException ex) {
+            accepted.forEach(this::releaseEmail);
+            throw ex;
+        }
+        employmentIndex.added(accepted);
+        accepted.forEach(e -> eventPublisher.publishEvent(new EmployeeCreatedEvent(e)));
+        return skipped;
+    }
+
+    /*
+     * Non-blocking variants of the operations above, run on the bounded employee executor.
+     * They fail with RejectedExecutionException when the executor is saturated,
+     * and with TimeoutException when the operation takes longer than employee.async.timeout
+     */
+    public CompletableFuture<List<Employee>> getAllEmployeesAsync() {
+        return supplyAsync(this::getAllEmployees);
+    }
+
+    public CompletableFuture<List<Employee>> getEmployeesPageAsync(UUID after, int limit) {
+        return supplyAsync(() -> getEmployeesPage(after, limit));
+    }
+
+    public CompletableFuture<Employee> getEmployeeByUUIDAsync(UUID u) {
+        return supplyAsync(() -> getEmployeeByUUID(u));
+    }
+
+    public CompletableFuture<List<Employee>> getEmployeesAsOfAsync(Instant asOf) {
+        return supplyAsync(() -> getEmployeesAsOf(asOf));
+    }
+
+    public CompletableFuture<List<MonthlyHeadcount>> getMonthlyHeadcountAsync(YearMonth first, YearMonth last) {
+        return supplyAsync(() -> getMonthlyHeadcount(first, last));
+    }
+
+    /*
+     * Writes go straight to the store's own non-blocking path rather than the executor,
+     * so a store that batches writes isn't limited to one insert per pool thread
+     */
+    public CompletableFuture<Employee> createEmployeeAsync(Employee e) {
+        // Time out the caller's copy only; a slow write that eventually lands is still indexed and published
+        return withTimeout(writeEmployeeAsync(e));
+    }
+
+    /*
+     * Like createEmployeeAsync, but the future settles with the store write however long it takes.
+     * For callers that must know how the write ended, e.g. the idempotency cache
+     */
+    public CompletableFuture<Employee> writeEmployeeAsync(Employee e) {
+        prepareForInsert(e);
+        StoreOperationEvent event = StoreOperationEvent.start("saveAsync");
+        return employeeRepository.saveAsync(e).whenComplete((saved, error) -> {
+            if (error != null) {
+                releaseEmail(e);
+            } else {
+                event.finish(1);
+                employmentIndex.added(List.of(e));
+                eventPublisher.publishEvent(new EmployeeCreatedEvent(e));
+            }
+        });
+    }
+
+    /*
+     * Returns a copy of the operation that fails with TimeoutException after employee.async.timeout,
+     * leaving the operation itself running
+     */
+    public <T> CompletableFuture<T> withTimeout(CompletableFuture<T> operation) {
+        return operation.copy().orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void prepareForInsert(Employee e) {
         if (e.getUuid() == null) {
             e.setUuid(UUID.randomUUID());
         }
         if (e.getContractHireDate() == null) {
             e.setContractHireDate(Instant.now());
         }
-        employeeMap.put(e.getUuid(), e);
-        return e;
+        if (e.getEmail() != null) {
+            UUID owner = emailIndex.putIfAbsent(e.getEmail().toLowerCase(), e.getUuid());
+            if (uniqueEmail && owner != null && !owner.equals(e.getUuid())) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "An employee with this email already exists");
+            }
+        }
+    }
+
+    private void releaseEmail(Employee e) {
+        if (e.getEmail() != null) {
+            emailIndex.remove(e.getEmail().toLowerCase(), e.getUuid());
+        }
+    }
+
+    private <T> CompletableFuture<T> supplyAsync(Supplier<T> operation) {
+        return CompletableFuture.supplyAsync(operation, executor).orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
     }
 }
@@ -0,0 +1,148 @@
+package com.challenge.api.service;
+
+import com.challenge.api.model.Employee;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable index of employment intervals, [hire date, termination date), for point-in-time queries.
+ *
+ * Employees employed at an instant come from a centered interval tree in O(log n + k). Headcounts come from the
+ * sorted hire and termination instants: the number of hires up to an instant minus the number of terminations up
+ * to it, found by binary search. Employees without a hire date, or terminated no later than they were hired,
+ * were never employed and are left out.
+ */
+final class EmploymentIndex {
+
+    private final Node root;
+    private final long[] hires;
+    private final long[] terminations;
+
+    EmploymentIndex(List<Employee> employees) {
+        List<Interval> intervals = new ArrayList<>(employees.size());
+        List<Long> terminated = new ArrayList<>();
+        for (Employee e : employees) {
+            Instant hired = e.getContractHireDate();
+            if (hired == null) {
+                continue;
+            }
+            long start = hired.toEpochMilli();
+            long end = e.getContractTerminationDate() == null
+                    ? Long.MAX_VALUE
+                    : e.getContractTerminationDate().toEpochMilli();
+            if (end <= start) {
+                continue;
+            }
+            intervals.add(new Interval(start, end, e));
+            if (end != Long.MAX_VALUE) {
+                terminated.add(end);
+            }
+        }
+
+        this.hires = intervals.stream().mapToLong(Interval::start).sorted().toArray();
+        this.terminations = terminated.stream().mapToLong(Long::longValue).sorted().toArray();
+        this.root = build(intervals);
+    }
+
+    /*
+     * Whether one employee is employed at the instant, by the same rules the index is built with
+     */
+    static boolean isEmployedAt(Employee e, long t) {
+        Instant hired = e.getContractHireDate();
+        if (hired == null || hired.toEpochMilli() > t) {
+            return false;
+        }
+        return e.getContractTerminationDate() == null || e.getContractTerminationDate().toEpochMilli() > t;
+    }
+
+    /*
+     * Returns the employees hired at or before the instant and not yet terminated at it
+     */
+    List<Employee> employedAt(Instant instant) {
+        long t = instant.toEpochMilli();
+        List<Employee> employed = new ArrayList<>();
+        Node node = root;
+        while (node != null) {
+            if (t < node.center) {
+                // Every interval here ends after the center, so it covers t if it started by then
+                for (Interval interval : node.byStart) {
+                    if (interval.start > t) {
+                        break;
+                    }
+                    employed.add(interval.employee);
+                }
+                node = node.left;
+            } else {
+                // Every interval here started by the center, so it covers t if it ends after it
+                for (Interval interval : node.byEndDescending) {
+                    if (interval.end <= t) {
+                        break;
+                    }
+                    employed.add(interval.employee);
+                }
+                node = node.right;
+            }
+        }
+        return employed;
+    }
+
+    /*
+     * Returns the number of employees employed at the instant
+     */
+    int headcountAt(Instant instant) {
+        long t = instant.toEpochMilli();
+        return countAtOrBefore(hires, t) - countAtOrBefore(terminations, t);
+    }
+
+    private static int countAtOrBefore(long[] sorted, long t) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= t) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /*
+     * Centers each node on the median start. The interval with that start always contains the center,
+     * so every node keeps at least one interval and fewer than half go right
+     */
+    private static Node build(List<Interval> intervals) {
+        if (intervals.isEmpty()) {
+            return null;
+        }
+        long[] starts = intervals.stream().mapToLong(Interval::start).sorted().toArray();
+        long center = starts[starts.length / 2];
+
+        List<Interval> left = new ArrayList<>();
+        List<Interval> right = new ArrayList<>();
+        List<Interval> overlapping = new ArrayList<>();
+        for (Interval interval : intervals) {
+            if (interval.end <= center) {
+                left.add(interval);
+            } else if (interval.start > center) {
+                right.add(interval);
+            } else {
+                overlapping.add(interval);
+            }
+        }
+
+        Interval[] byStart = overlapping.toArray(new Interval[0]);
+        Arrays.sort(byStart, Comparator.comparingLong(Interval::start));
+        Interval[] byEndDescending = overlapping.toArray(new Interval[0]);
+        Arrays.sort(byEndDescending, Comparator.comparingLong(Interval::end).reversed());
+        return new Node(center, byStart, byEndDescending, build(left), build(right));
+    }
+
+    private record Interval(long start, long end, Employee employee) {}
+
+    private record Node(long center, Interval[] byStart, Interval[] byEndDescending, Node left, Node right) {}
+}
@@ -0,0 +1,154 @@
+package com.challenge.api.service;
+
+import com.challenge.api.model.Employee;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Remembers the result of create requests sent with an {@code Idempotency-Key} header, so a client retrying after a
+ * timeout gets the original employee back instead of creating a duplicate.
+ *
+ * Completed results live in a bounded map ordered by insertion; since every entry gets the same TTL, the eldest entry
+ * is also the next to expire. Requests that arrive while the first one with the same key is still running wait for
+ * its result rather than running a second time. The action's future must settle with the write itself, not time out
+ * before it: a key is held until the write is decided, so a client that gave up waiting and retries still gets the
+ * employee its first attempt created. Apply timeouts to the future execute returns.
+ *
+ * Each key is bound to the request it was first used with: a hash of the caller's subject and the request body,
+ * re-serialized so formatting and field order don't matter. Reusing a key for a different request is rejected with
+ * 422 instead of silently returning the first employee.
+ */
+@Component
+public class IdempotencyCache {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, CachedResult> results;
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyCache(
+            ObjectMapper objectMapper,
+            @Value("${employee.idempotency.max-entries:10000}") int maxEntries,
+            @Value("${employee.idempotency.ttl:86400000}") long ttlMillis) {
+        this.objectMapper = objectMapper;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.results = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResult> eldest) {
+                return size() > IdempotencyCache.this.maxEntries;
+            }
+        };
+    }
+
+    /*
+     * Returns the cached result for the key, or runs the action once and caches what it completes with.
+     * Failed actions are not cached, so a retry after e.g. a validation error runs again.
+     * Throws a 422 ResponseStatusException if the key was used by another subject or with another request body
+     */
+    public CompletableFuture<Employee> execute(
+            String key, String subject, Object request, Supplier<CompletableFuture<Employee>> action) {
+        String fingerprint = fingerprint(subject, request);
+        Employee cached = get(key, fingerprint);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        CompletableFuture<Employee> pending = new CompletableFuture<>();
+        InFlight claim = new InFlight(fingerprint, pending);
+        InFlight existing = inFlight.putIfAbsent(key, claim);
+        if (existing != null) {
+            checkFingerprint(existing.fingerprint(), fingerprint);
+            return existing.result();
+        }
+
+        // Another request may have finished between the cache check and claiming the key
+        CompletableFuture<Employee> result;
+        try {
+            Employee raced = get(key, fingerprint);
+            result = raced != null ? CompletableFuture.completedFuture(raced) : action.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+
+        result.whenComplete((employee, error) -> {
+            // Cache before releasing the key so the next request with it finds the result
+            if (error == null) {
+                put(key, fingerprint, employee);
+            }
+            inFlight.remove(key, claim);
+            if (error == null) {
+                pending.complete(employee);
+            } else {
+                pending.completeExceptionally(error);
+            }
+        });
+        return pending;
+    }
+
+    private synchronized Employee get(String key, String fingerprint) {
+        CachedResult result = results.get(key);
+        if (result == null) {
+            return null;
+        }
+        if (result.expiresAt() <= System.currentTimeMillis()) {
+            results.remove(key);
+            return null;
+        }
+        checkFingerprint(result.fingerprint(), fingerprint);
+        return result.employee();
+    }
+
+    private synchronized void put(String key, String fingerprint, Employee employee) {
+        long now = System.currentTimeMillis();
+        // Entries are in expiry order, so expired ones can be dropped from the head
+        Iterator<CachedResult> it = results.values().iterator();
+        while (it.hasNext() && it.next().expiresAt() <= now) {
+            it.remove();
+        }
+        results.put(key, new CachedResult(fingerprint, employee, now + ttlMillis));
+    }
+
+    private static void checkFingerprint(String expected, String actual) {
+        if (!expected.equals(actual)) {
+            throw new ResponseStatusException(
+                    HttpStatus.UNPROCESSABLE_ENTITY, "Idempotency-Key was already used for a different request");
+        }
+    }
+
+    /*
+     * SHA-256 of the subject and the canonical JSON form of the request
+     */
+    private String fingerprint(String subject, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.valueOf(subject).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Can't fingerprint idempotent request", e);
+        }
+    }
+
+    private record CachedResult(String fingerprint, Employee employee, long expiresAt) {}
+
+    private record InFlight(String fingerprint, CompletableFuture<Employee> result) {}
+}
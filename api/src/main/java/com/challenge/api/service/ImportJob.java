@@ -0,0 +1,116 @@
+package com.challenge.api.service;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one bulk import, polled through the admin endpoint.
+ */
+public class ImportJob {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final Path file;
+    private final Path rejectFile;
+    private final Instant startedAt = Instant.now();
+    private final AtomicLong processedBytes = new AtomicLong();
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    private volatile long totalBytes;
+    private volatile Status status = Status.RUNNING;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    public ImportJob(Path file) {
+        this.file = file;
+        this.rejectFile = file.resolveSibling(file.getFileName() + ".rejects");
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getFile() {
+        return file.toString();
+    }
+
+    public String getRejectFile() {
+        return rejectFile.toString();
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public long getProcessedBytes() {
+        return processedBytes.get();
+    }
+
+    public long getImported() {
+        return imported.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    /*
+     * Percentage of the file processed so far
+     */
+    public double getProgress() {
+        return totalBytes == 0 ? 100.0 : 100.0 * processedBytes.get() / totalBytes;
+    }
+
+    Path filePath() {
+        return file;
+    }
+
+    Path rejectFilePath() {
+        return rejectFile;
+    }
+
+    void setTotalBytes(long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+
+    void recordProgress(long bytes, long importedRows, long rejectedRows) {
+        processedBytes.addAndGet(bytes);
+        imported.addAndGet(importedRows);
+        rejected.addAndGet(rejectedRows);
+    }
+
+    void complete() {
+        finishedAt = Instant.now();
+        status = Status.COMPLETED;
+    }
+
+    void fail(Exception e) {
+        error = e.getMessage();
+        finishedAt = Instant.now();
+        status = Status.FAILED;
+    }
+}
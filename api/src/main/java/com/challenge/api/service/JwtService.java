@@ -1,5 +1,6 @@
 package com.challenge.api.service;
 
+import com.challenge.api.diagnostics.JwtParseEvent;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -14,6 +15,7 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
@@ -27,6 +29,12 @@ public class JwtService {
 
     private Key signingKey;
 
+    private final TokenRevocationService revocationService;
+
+    public JwtService(TokenRevocationService revocationService) {
+        this.revocationService = revocationService;
+    }
+
     @PostConstruct
     public void init() {
         if (secretKey == null || secretKey.trim().isEmpty()) {
@@ -70,6 +78,7 @@ public class JwtService {
                 .builder()
                 .setClaims(extraClaims)
                 .setSubject(userDetails.getUsername())
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
                 .signWith(signingKey, SignatureAlgorithm.HS256)
@@ -77,24 +86,44 @@ public class JwtService {
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(extractAllClaims(token), userDetails);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    /**
+     * Validity check for claims the caller already parsed with {@link #extractAllClaims}, so the signature isn't
+     * verified twice.
+     */
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername())
+                && !claims.getExpiration().before(new Date())
+                && !revocationService.isRevoked(claims.getId());
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    /**
+     * Revokes the token until it expires. Throws a JwtException if the token isn't one of ours.
+     */
+    public void revokeToken(String token) {
+        final Claims claims = extractAllClaims(token);
+        revocationService.revoke(claims.getId(), claims.getExpiration().getTime());
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(signingKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Parses the token and verifies its signature. Throws a JwtException if the token isn't one of ours.
+     */
+    public Claims extractAllClaims(String token) {
+        JwtParseEvent event = new JwtParseEvent();
+        event.begin();
+        try {
+            Claims claims = Jwts
+                    .parserBuilder()
+                    .setSigningKey(signingKey)
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody();
+            event.valid = true;
+            return claims;
+        } finally {
+            event.commit();
+        }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,188 @@
+package com.challenge.api.service;
+
+import com.challenge.api.diagnostics.StoreOperationEvent;
+import com.challenge.api.model.Employee;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Keeps an {@link EmploymentIndex} current without ever rebuilding it on the read path.
+ *
+ * Employees written since the index was built sit in a small overlay that queries scan next to the index. A
+ * background thread rebuilds the index from the store once writes have been quiet for {@code rebuildDelayMillis},
+ * or straight away once the overlay outgrows {@code maxOverlay}, and swaps it in. Until then queries keep getting
+ * the previous index plus the overlay, so they neither wait for a rebuild nor miss a write.
+ */
+final class LiveEmploymentIndex {
+
+    private final Supplier<List<Employee>> loader;
+    private final long rebuildDelayMillis;
+    private final int maxOverlay;
+    private final ScheduledExecutorService rebuilder;
+
+    private volatile Snapshot snapshot = new Snapshot(new EmploymentIndex(List.of()), List.of());
+
+    // Guarded by this; replace() bumps the generation so a rebuild started before it is discarded
+    private long generation;
+    private ScheduledFuture<?> scheduledRebuild;
+    private boolean rebuilding;
+
+    LiveEmploymentIndex(Supplier<List<Employee>> loader, long rebuildDelayMillis, int maxOverlay) {
+        this.loader = loader;
+        this.rebuildDelayMillis = rebuildDelayMillis;
+        this.maxOverlay = maxOverlay;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("employment-index-");
+        threadFactory.setDaemon(true);
+        this.rebuilder = Executors.newSingleThreadScheduledExecutor(threadFactory);
+    }
+
+    void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /*
+     * Indexes exactly the given employees, dropping the overlay and any rebuild in progress
+     */
+    synchronized void replace(List<Employee> employees) {
+        generation++;
+        if (scheduledRebuild != null) {
+            scheduledRebuild.cancel(false);
+            scheduledRebuild = null;
+        }
+        snapshot = new Snapshot(new EmploymentIndex(employees), List.of());
+    }
+
+    /*
+     * Makes employees that were just written to the store visible to queries. Call after the store write
+     */
+    synchronized void added(List<Employee> employees) {
+        if (employees.isEmpty()) {
+            return;
+        }
+        Snapshot current = snapshot;
+        List<Employee> overlay = new ArrayList<>(current.overlay.size() + employees.size());
+        overlay.addAll(current.overlay);
+        overlay.addAll(employees);
+        snapshot = new Snapshot(current.index, List.copyOf(overlay));
+        scheduleRebuild();
+    }
+
+    /*
+     * Debounces: every write pushes the rebuild back, until the overlay is large enough to rebuild right away.
+     * A rebuild that is already running reschedules itself for whatever it didn't cover
+     */
+    private void scheduleRebuild() {
+        if (rebuilding) {
+            return;
+        }
+        if (scheduledRebuild != null) {
+            scheduledRebuild.cancel(false);
+        }
+        long delay = snapshot.overlay.size() >= maxOverlay ? 0 : rebuildDelayMillis;
+        scheduledRebuild = rebuilder.schedule(this::rebuild, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void rebuild() {
+        Snapshot start;
+        long startGeneration;
+        synchronized (this) {
+            start = snapshot;
+            startGeneration = generation;
+            scheduledRebuild = null;
+            if (start.overlay.isEmpty()) {
+                return;
+            }
+            rebuilding = true;
+        }
+        try {
+            StoreOperationEvent event = StoreOperationEvent.start("rebuildEmploymentIndex");
+            List<Employee> employees = loader.get();
+            EmploymentIndex index = new EmploymentIndex(employees);
+            event.finish(employees.size());
+            synchronized (this) {
+                rebuilding = false;
+                if (generation != startGeneration) {
+                    return;
+                }
+                swap(start, employees, index);
+            }
+        } catch (RuntimeException e) {
+            // Store unavailable; the overlay keeps queries correct and the next write schedules another attempt
+            synchronized (this) {
+                rebuilding = false;
+            }
+        }
+    }
+
+    /*
+     * Installs a rebuilt index. Writes that arrived while the store was being read may or may not be in it, so the
+     * ones it missed stay in the overlay
+     */
+    private void swap(Snapshot start, List<Employee> loaded, EmploymentIndex index) {
+        List<Employee> later = snapshot.overlay.subList(start.overlay.size(), snapshot.overlay.size());
+        List<Employee> missed = new ArrayList<>(later);
+        if (!later.isEmpty()) {
+            Set<UUID> laterIds = new HashSet<>();
+            later.forEach(e -> laterIds.add(e.getUuid()));
+            Set<UUID> seen = new HashSet<>();
+            for (Employee e : loaded) {
+                if (laterIds.contains(e.getUuid())) {
+                    seen.add(e.getUuid());
+                }
+            }
+            missed.removeIf(e -> seen.contains(e.getUuid()));
+        }
+        snapshot = new Snapshot(index, List.copyOf(missed));
+        if (!missed.isEmpty()) {
+            scheduleRebuild();
+        }
+    }
+
+    /**
+     * A consistent view for a whole query: an index and the employees written after it was built.
+     */
+    record Snapshot(EmploymentIndex index, List<Employee> overlay) {
+
+        /*
+         * Returns the employees hired at or before the instant and not yet terminated at it
+         */
+        List<Employee> employedAt(Instant instant) {
+            List<Employee> employed = index.employedAt(instant);
+            long t = instant.toEpochMilli();
+            for (Employee e : overlay) {
+                if (EmploymentIndex.isEmployedAt(e, t)) {
+                    employed.add(e);
+                }
+            }
+            return employed;
+        }
+
+        /*
+         * Returns the number of employees employed at the instant
+         */
+        int headcountAt(Instant instant) {
+            int headcount = index.headcountAt(instant);
+            long t = instant.toEpochMilli();
+            for (Employee e : overlay) {
+                if (EmploymentIndex.isEmployedAt(e, t)) {
+                    headcount++;
+                }
+            }
+            return headcount;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.challenge.api.service;
+
+import java.time.YearMonth;
+
+/**
+ * Number of employees employed at the start of a month (UTC).
+ */
+public record MonthlyHeadcount(YearMonth month, int headcount) {}
@@ -0,0 +1,127 @@
+package com.challenge.api.service;
+
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Set of revoked token ids ({@code jti}), checked on every authenticated request.
+ *
+ * Almost every token checked has not been revoked, so lookups go through a bloom filter first and only the rare
+ * "maybe" answers touch the exact map. Each entry is kept until the token's own expiry, after which it can't be used
+ * anyway; a periodic sweep drops those entries and rebuilds the bloom filter from what is left, so memory is bounded
+ * by the number of revoked tokens that are still live.
+ */
+@Service
+public class TokenRevocationService {
+
+    // Revoked jti -> token expiry in epoch millis
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final int expectedTokens;
+    private volatile BloomFilter bloomFilter;
+
+    // Scheduler for periodic cleanup
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    public TokenRevocationService(@Value("${security.jwt.revocation.expected-tokens:10000}") int expectedTokens) {
+        this.expectedTokens = expectedTokens;
+        this.bloomFilter = new BloomFilter(expectedTokens);
+        scheduler.scheduleAtFixedRate(this::pruneExpired, 1, 1, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+    }
+
+    public void revoke(String jti, long expiresAt) {
+        if (jti == null || expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+        // Exact set first: a concurrent rebuild copies from it, so the id can't be missed by the new filter
+        revoked.put(jti, expiresAt);
+        bloomFilter.add(jti);
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null || !bloomFilter.mightContain(jti)) {
+            return false;
+        }
+        Long expiresAt = revoked.get(jti);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    private void pruneExpired() {
+        long now = System.currentTimeMillis();
+        if (!revoked.values().removeIf(expiresAt -> expiresAt <= now)) {
+            return;
+        }
+        // Bloom filters can't delete, so build a fresh one sized for what remains
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedTokens, revoked.size() * 2));
+        revoked.keySet().forEach(rebuilt::add);
+        bloomFilter = rebuilt;
+        // Catch ids revoked while the rebuild was running
+        revoked.keySet().forEach(rebuilt::add);
+    }
+
+    /*
+     * Lock-free bloom filter sized for a 1% false positive rate at the expected number of entries
+     */
+    private static final class BloomFilter {
+        private static final int HASHES = 7;
+
+        private final AtomicLongArray bits;
+        private final long bitCount;
+
+        private BloomFilter(int expectedEntries) {
+            long words = Math.max(1, (long) Math.ceil(expectedEntries * 9.6 / 64));
+            this.bits = new AtomicLongArray((int) words);
+            this.bitCount = words * 64;
+        }
+
+        private void add(String value) {
+            long hash1 = hash(value, 0x9E3779B97F4A7C15L);
+            long hash2 = hash(value, 0xC2B2AE3D27D4EB4FL);
+            for (int i = 0; i < HASHES; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current = bits.get(word);
+                while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                    current = bits.get(word);
+                }
+            }
+        }
+
+        private boolean mightContain(String value) {
+            long hash1 = hash(value, 0x9E3779B97F4A7C15L);
+            long hash2 = hash(value, 0xC2B2AE3D27D4EB4FL);
+            for (int i = 0; i < HASHES; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static long hash(String value, long seed) {
+            long h = seed;
+            for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                h = (h ^ b) * 0x100000001B3L;
+            }
+            // Final avalanche so nearby inputs spread across the whole range
+            h ^= h >>> 33;
+            h *= 0xFF51AFD7ED558CCDL;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
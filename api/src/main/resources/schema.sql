@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS employee (
+    uuid                      UUID         PRIMARY KEY,
+    first_name                VARCHAR(50)  NOT NULL,
+    last_name                 VARCHAR(50)  NOT NULL,
+    full_name                 VARCHAR(101) NOT NULL,
+    salary                    INTEGER,
+    age                       INTEGER,
+    job_title                 VARCHAR(100),
+    email                     VARCHAR(255),
+    contract_hire_date        TIMESTAMP WITH TIME ZONE NOT NULL,
+    contract_termination_date TIMESTAMP WITH TIME ZONE
+);
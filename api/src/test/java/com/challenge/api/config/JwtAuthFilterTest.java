@@ -0,0 +1,78 @@
+package com.challenge.api.config;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.challenge.api.service.JwtService;
+import com.challenge.api.service.TokenRevocationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class JwtAuthFilterTest {
+
+    private static final String SECRET_KEY = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private final UserDetails user = User.withUsername("alice").password("secret").roles("USER").build();
+    private TokenRevocationService revocationService;
+    private JwtService jwtService;
+    private JwtAuthFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        revocationService = spy(new TokenRevocationService(100));
+        JwtService service = new JwtService(revocationService);
+        ReflectionTestUtils.setField(service, "secretKey", SECRET_KEY);
+        ReflectionTestUtils.setField(service, "jwtExpiration", 60_000L);
+        service.init();
+        jwtService = spy(service);
+        filter = new JwtAuthFilter(jwtService, username -> user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        revocationService.shutdown();
+    }
+
+    @Test
+    void validTokenIsParsedOncePerRequest() throws Exception {
+        String token = jwtService.generateToken(user);
+
+        filter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(jwtService, times(1)).extractAllClaims(anyString());
+        verify(revocationService, times(1)).isRevoked(any());
+    }
+
+    @Test
+    void revokedTokenIsParsedOncePerRequest() throws Exception {
+        String token = jwtService.generateToken(user);
+        jwtService.revokeToken(token);
+
+        filter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        // One parse for the revocation above, one for the request
+        verify(jwtService, times(2)).extractAllClaims(anyString());
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employee");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
@@ -0,0 +1,76 @@
+package com.challenge.api.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.challenge.api.model.DefaultEmployee;
+import com.challenge.api.model.Employee;
+import com.challenge.api.service.EmployeeService;
+import com.challenge.api.service.JwtService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class WebConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Value("${spring.security.admin.username}")
+    private String adminUsername;
+
+    @Test
+    void cborResponsesUseTheConfiguredMapper() throws Exception {
+        Employee employee = employeeService.getAllEmployees().get(0);
+        String token = jwtService.generateToken(userDetailsService.loadUserByUsername(adminUsername));
+
+        MvcResult started = mockMvc.perform(get("/api/v1/employee/{uuid}", employee.getUuid())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        ObjectMapper cbor = new ObjectMapper(new CBORFactory()).findAndRegisterModules();
+        // Boot writes dates as ISO-8601 text; Spring's own CBOR mapper would have written numeric timestamps
+        JsonNode tree = cbor.readTree(body);
+        assertTrue(tree.get("contractHireDate").isTextual());
+        assertEquals(employee.getContractHireDate().toString(), tree.get("contractHireDate").asText());
+
+        Employee decoded = cbor.readValue(body, DefaultEmployee.class);
+        assertEquals(employee.getUuid(), decoded.getUuid());
+        assertEquals(employee.getContractHireDate(), decoded.getContractHireDate());
+        assertEquals(employee.getFullName(), decoded.getFullName());
+    }
+}
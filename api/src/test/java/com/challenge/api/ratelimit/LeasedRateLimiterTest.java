@@ -0,0 +1,130 @@
+package com.challenge.api.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Several limiters sharing one backend stand in for several replicas sharing a network store.
+ */
+class LeasedRateLimiterTest {
+
+    private static final int INSTANCES = 4;
+    private static final int LEASE_SIZE = 5;
+
+    private final CountingBackend backend = new CountingBackend();
+    private final List<LeasedRateLimiter> limiters = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        for (int i = 0; i < INSTANCES; i++) {
+            limiters.add(new LeasedRateLimiter(backend, LEASE_SIZE));
+        }
+        awaitFreshWindow();
+    }
+
+    @AfterEach
+    void tearDown() {
+        limiters.forEach(LeasedRateLimiter::shutdown);
+    }
+
+    @Test
+    void concurrentInstancesNeverAdmitMoreThanTheLimit() throws InterruptedException {
+        int limit = 30;
+        int attemptsPerInstance = 100;
+        AtomicInteger admitted = new AtomicInteger();
+
+        ExecutorService pool = Executors.newFixedThreadPool(INSTANCES * 2);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < INSTANCES * 2; t++) {
+            LeasedRateLimiter limiter = limiters.get(t % INSTANCES);
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < attemptsPerInstance / 2; i++) {
+                    if (limiter.tryAcquire("api:client", limit)) {
+                        admitted.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        // The backend caps the window at the limit; permits leased but unspent may strand below it
+        assertTrue(admitted.get() <= limit, "admitted " + admitted.get());
+        assertTrue(admitted.get() >= limit - INSTANCES * (LEASE_SIZE - 1), "admitted " + admitted.get());
+    }
+
+    @Test
+    void leasesKeepBackendCallsWellBelowAdmits() {
+        int limit = 1000;
+        int admitted = 0;
+        for (int i = 0; i < 400; i++) {
+            if (limiters.get(i % INSTANCES).tryAcquire("api:client", limit)) {
+                admitted++;
+            }
+        }
+
+        assertEquals(400, admitted);
+        assertEquals(400 / LEASE_SIZE, backend.reservations.get());
+    }
+
+    @Test
+    void oneInstanceCannotLeaseASmallBudgetForItself() {
+        int authLimit = 5;
+        assertTrue(limiters.get(0).tryAcquire("auth:client", authLimit));
+
+        // With a lease of the full lease size the first instance would have taken all five permits
+        int admittedElsewhere = 0;
+        for (int i = 0; i < 10; i++) {
+            if (limiters.get(1 + i % (INSTANCES - 1)).tryAcquire("auth:client", authLimit)) {
+                admittedElsewhere++;
+            }
+        }
+        assertEquals(authLimit - 1, admittedElsewhere);
+        assertFalse(limiters.get(0).tryAcquire("auth:client", authLimit));
+    }
+
+    @Test
+    void exhaustedKeyDoesNotAffectOtherKeys() {
+        for (int i = 0; i < 10; i++) {
+            limiters.get(i % INSTANCES).tryAcquire("auth:noisy", 5);
+        }
+        for (LeasedRateLimiter limiter : limiters) {
+            assertTrue(limiter.tryAcquire("auth:quiet", 5));
+        }
+    }
+
+    /*
+     * Windows are wall-clock minutes; don't let a test straddle a boundary and see two budgets
+     */
+    private static void awaitFreshWindow() throws InterruptedException {
+        long intoWindow = System.currentTimeMillis() % TimeUnit.MINUTES.toMillis(1);
+        if (intoWindow > TimeUnit.SECONDS.toMillis(55)) {
+            Thread.sleep(TimeUnit.MINUTES.toMillis(1) - intoWindow + 100);
+        }
+    }
+
+    private static final class CountingBackend extends InMemoryRateLimiterBackend {
+        private final AtomicInteger reservations = new AtomicInteger();
+
+        @Override
+        public int reserve(String key, long window, int requested, int limit) {
+            reservations.incrementAndGet();
+            return super.reserve(key, window, requested, limit);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.challenge.api.replication;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.challenge.api.model.DefaultEmployee;
+import com.challenge.api.model.Employee;
+import com.challenge.api.repository.InMemoryEmployeeRepository;
+import com.challenge.api.service.EmployeeCreatedEvent;
+import com.challenge.api.service.EmployeeService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Leader and followers run as separate nodes, each with its own store, talking over a real socket. Convergence is
+ * judged by comparing the stores' contents, not just sequence numbers.
+ */
+class ReplicationServiceTest {
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final List<Node> nodes = new ArrayList<>();
+    private int port;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (Node node : nodes) {
+            node.stop();
+        }
+    }
+
+    @Test
+    void followerConvergesOnLeaderContents() throws Exception {
+        // A tiny log, so entries written before the follower connects have already been dropped from it
+        Node leader = node("leader", 4);
+        createEmployees(leader, 20);
+        leader.start();
+        createEmployees(leader, 20);
+
+        Node follower = node("follower", 4);
+        follower.start();
+        createEmployees(leader, 50);
+
+        awaitConverged(leader, follower);
+        assertEquals(90, contents(follower).size());
+    }
+
+    @Test
+    void followerResyncsWhenTheLeaderRestarts() throws Exception {
+        Node first = node("leader", 100);
+        first.start();
+        createEmployees(first, 10);
+        Node follower = node("follower", 100);
+        follower.start();
+        awaitConverged(first, follower);
+        long firstEpoch = follower.replication.getStatus().epoch();
+        first.stop();
+
+        // A fresh leader with a different history: its sequence numbers overlap the old ones but mean other rows
+        Node second = node("leader", 100);
+        createEmployees(second, 3);
+        second.start();
+        createEmployees(second, 12);
+
+        awaitConverged(second, follower);
+        assertNotEquals(firstEpoch, follower.replication.getStatus().epoch());
+        assertEquals(15, contents(follower).size());
+    }
+
+    private void awaitConverged(Node leader, Node follower) throws Exception {
+        long leaderEpoch = leader.replication.getStatus().epoch();
+        await(() -> {
+            ReplicationStatus status = follower.replication.getStatus();
+            return status.epoch() == leaderEpoch
+                    && status.lagEntries() == 0
+                    && status.appliedSequence() == leader.replication.getStatus().appliedSequence();
+        });
+        assertEquals(contents(leader), contents(follower));
+    }
+
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "replication did not converge");
+            Thread.sleep(20);
+        }
+    }
+
+    private Map<UUID, String> contents(Node node) throws JsonProcessingException {
+        Map<UUID, String> contents = new TreeMap<>();
+        for (Employee employee : node.employees.getAllEmployees()) {
+            contents.put(employee.getUuid(), objectMapper.writeValueAsString(employee));
+        }
+        return contents;
+    }
+
+    private static void createEmployees(Node node, int count) {
+        for (int i = 0; i < count; i++) {
+            String name = "User" + UUID.randomUUID();
+            node.employees.createEmployee(
+                    new DefaultEmployee("Replicated", name, 50_000 + i, "Engineer", name + "@example.com"));
+        }
+    }
+
+    private Node node(String role, int logRetention) {
+        Node node = new Node(role, logRetention);
+        nodes.add(node);
+        return node;
+    }
+
+    private class Node {
+        private final EmployeeService employees;
+        private final ReplicationService replication;
+
+        Node(String role, int logRetention) {
+            // Stands in for the application context delivering EmployeeCreatedEvent to the replication service
+            AtomicReference<ReplicationService> listener = new AtomicReference<>();
+            employees = new EmployeeService(
+                    new InMemoryEmployeeRepository(),
+                    event -> {
+                        if (listener.get() != null && event instanceof EmployeeCreatedEvent created) {
+                            listener.get().onEmployeeCreated(created);
+                        }
+                    },
+                    2,
+                    100,
+                    5000,
+                    1000,
+                    1000);
+            replication = new ReplicationService(
+                    employees, objectMapper, role, "127.0.0.1", port, "127.0.0.1", port, 5000, 50, logRetention);
+            listener.set(replication);
+        }
+
+        void start() throws IOException {
+            replication.start();
+        }
+
+        void stop() throws IOException {
+            replication.shutdown();
+            employees.shutdown();
+        }
+    }
+}
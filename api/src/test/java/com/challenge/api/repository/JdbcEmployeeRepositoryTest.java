@@ -0,0 +1,209 @@
+package com.challenge.api.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.challenge.api.model.DefaultEmployee;
+import com.challenge.api.model.Employee;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class JdbcEmployeeRepositoryTest {
+
+    private static final int INSERTS = 200;
+
+    private final AtomicInteger batches = new AtomicInteger();
+    private volatile CountDownLatch blockedBatches = new CountDownLatch(0);
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private final List<JdbcEmployeeRepository> repositories = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource =
+                new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        jdbcTemplate = new BatchCountingJdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        for (JdbcEmployeeRepository repository : repositories) {
+            repository.shutdown();
+        }
+    }
+
+    @Test
+    void concurrentInsertsShareBatches() {
+        // All inserts are queued well within the linger of the first, so the writer collects them in one go
+        JdbcEmployeeRepository repository = repository(500, 500);
+        List<CompletableFuture<Employee>> saves = new ArrayList<>();
+        for (int i = 0; i < INSERTS; i++) {
+            saves.add(repository.saveAsync(employee("coalesced", i)));
+        }
+        CompletableFuture.allOf(saves.toArray(new CompletableFuture[0])).join();
+
+        assertEquals(INSERTS, countRows());
+        assertEquals(1, batches.get());
+    }
+
+    @Test
+    void batchesAreCappedAtTheMaxBatchSize() {
+        JdbcEmployeeRepository repository = repository(50, 500);
+        List<CompletableFuture<Employee>> saves = new ArrayList<>();
+        for (int i = 0; i < INSERTS; i++) {
+            saves.add(repository.saveAsync(employee("capped", i)));
+        }
+        CompletableFuture.allOf(saves.toArray(new CompletableFuture[0])).join();
+
+        assertEquals(INSERTS, countRows());
+        assertEquals(INSERTS / 50, batches.get());
+    }
+
+    @Test
+    void shutdownWritesQueuedInsertsAndRejectsNewOnes() throws InterruptedException {
+        JdbcEmployeeRepository repository = repository(500, 200);
+        List<CompletableFuture<Employee>> saves = new ArrayList<>();
+        for (int i = 0; i < INSERTS; i++) {
+            saves.add(repository.saveAsync(employee("shutdown", i)));
+        }
+        repository.shutdown();
+
+        CompletableFuture.allOf(saves.toArray(new CompletableFuture[0])).join();
+        assertEquals(INSERTS, countRows());
+        CompletionException late =
+                assertThrows(CompletionException.class, () -> repository.saveAsync(employee("late", 0)).join());
+        assertInstanceOf(RejectedExecutionException.class, late.getCause());
+    }
+
+    @Test
+    void shutdownFailsInsertsTheWriterDoesNotGetTo() throws InterruptedException {
+        blockedBatches = new CountDownLatch(1);
+        JdbcEmployeeRepository repository = repository(1, 0, 100);
+        CompletableFuture<Employee> writing = repository.saveAsync(employee("stuck", 0));
+        while (batches.get() == 0) {
+            Thread.sleep(10);
+        }
+        CompletableFuture<Employee> queued = repository.saveAsync(employee("stuck", 1));
+        // Sits in the first batch until released, past the shutdown timeout
+        repository.shutdown();
+
+        CompletionException abandoned = assertThrows(CompletionException.class, queued::join);
+        assertInstanceOf(RejectedExecutionException.class, abandoned.getCause());
+        blockedBatches.countDown();
+        assertNotNull(writing.join());
+        assertEquals(1, countRows());
+    }
+
+    @Test
+    void timingOutTheCallersFutureDoesNotFailTheInsert() throws Exception {
+        JdbcEmployeeRepository repository = repository(500, 200);
+        Employee employee = employee("timeout", 0);
+
+        CompletableFuture<Employee> caller = repository.saveAsync(employee).orTimeout(1, TimeUnit.MILLISECONDS);
+        assertTrue(caller.handle((saved, error) -> error instanceof TimeoutException).get());
+
+        // The writer still commits after its linger
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (repository.findByUuid(employee.getUuid()) == null && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertNotNull(repository.findByUuid(employee.getUuid()));
+    }
+
+    @Test
+    void pagesCoverEveryRowOnceInUuidOrder() {
+        JdbcEmployeeRepository repository = repository(500, 2);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            employees.add(employee("page", i));
+        }
+        repository.saveAll(employees);
+
+        Set<UUID> seen = new HashSet<>();
+        UUID after = null;
+        List<Employee> page = repository.findPage(null, 100);
+        while (!page.isEmpty()) {
+            for (Employee e : page) {
+                // H2 orders UUIDs as unsigned bytes, which matches their text form but not the signed compareTo
+                assertTrue(after == null || e.getUuid().toString().compareTo(after.toString()) > 0);
+                assertTrue(seen.add(e.getUuid()));
+                after = e.getUuid();
+            }
+            page = repository.findPage(after, 100);
+        }
+        assertEquals(250, seen.size());
+        assertFalse(repository.findAll().isEmpty());
+    }
+
+    private JdbcEmployeeRepository repository(int maxBatchSize, long lingerMillis) {
+        return repository(maxBatchSize, lingerMillis, 10_000);
+    }
+
+    private JdbcEmployeeRepository repository(int maxBatchSize, long lingerMillis, long shutdownTimeoutMillis) {
+        JdbcEmployeeRepository repository = new JdbcEmployeeRepository(
+                jdbcTemplate, transactionTemplate, maxBatchSize, lingerMillis, 10_000, shutdownTimeoutMillis);
+        repositories.add(repository);
+        return repository;
+    }
+
+    private long countRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employee", Long.class);
+    }
+
+    private static Employee employee(String firstName, int i) {
+        Employee e = new DefaultEmployee(firstName, "Writer" + i, 50000, "Engineer", firstName + i + "@example.com");
+        e.setContractHireDate(Instant.parse("2020-01-01T00:00:00Z"));
+        return e;
+    }
+
+    /*
+     * Counts JDBC batches, one round trip each, the way the repository issues them, holding each until released
+     */
+    private class BatchCountingJdbcTemplate extends JdbcTemplate {
+
+        BatchCountingJdbcTemplate(DataSource dataSource) {
+            super(dataSource);
+        }
+
+        @Override
+        public <T> int[][] batchUpdate(
+                String sql, Collection<T> batchArgs, int batchSize, ParameterizedPreparedStatementSetter<T> pss) {
+            batches.incrementAndGet();
+            try {
+                blockedBatches.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.batchUpdate(sql, batchArgs, batchSize, pss);
+        }
+    }
+}
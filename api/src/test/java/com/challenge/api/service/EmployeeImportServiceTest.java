@@ -0,0 +1,46 @@
+package com.challenge.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.challenge.api.repository.InMemoryEmployeeRepository;
+import com.challenge.api.request.EmployeeRequestValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EmployeeImportServiceTest {
+
+    private static final long JOB_TTL_MILLIS = 50;
+
+    @TempDir
+    Path dir;
+
+    private final EmployeeService employeeService =
+            new EmployeeService(new InMemoryEmployeeRepository(), event -> {}, 2, 100, 5000, 1000, 1000);
+    private final EmployeeImportService importService = new EmployeeImportService(
+            employeeService, new EmployeeRequestValidator(), new ObjectMapper(), 2, JOB_TTL_MILLIS);
+
+    @AfterEach
+    void tearDown() {
+        importService.shutdown();
+        employeeService.shutdown();
+    }
+
+    @Test
+    void finishedJobsAreForgottenAfterTheirTtl() throws IOException, InterruptedException {
+        Path file = Files.writeString(dir.resolve("employees.jsonl"), "{\"firstName\":\"Jane\",\"lastName\":\"Doe\","
+                + "\"salary\":50000,\"jobTitle\":\"Engineer\",\"email\":\"jane.doe@example.com\"}\n");
+        ImportJob job = importService.runNow(file, EmployeeImportService.Format.JSONL);
+        assertEquals(ImportJob.Status.COMPLETED, job.getStatus());
+        assertSame(job, importService.getJob(job.getId()));
+
+        Thread.sleep(JOB_TTL_MILLIS * 2);
+        assertNull(importService.getJob(job.getId()));
+    }
+}
@@ -0,0 +1,74 @@
+package com.challenge.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.challenge.api.model.DefaultEmployee;
+import com.challenge.api.model.Employee;
+import com.challenge.api.repository.InMemoryEmployeeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class IdempotencyCacheTest {
+
+    private static final long WRITE_MILLIS = 300;
+    private static final long TIMEOUT_MILLIS = 50;
+
+    private final SlowRepository repository = new SlowRepository();
+    private final EmployeeService employeeService =
+            new EmployeeService(repository, event -> {}, 2, 100, TIMEOUT_MILLIS, 1000, 1000);
+    private final IdempotencyCache cache = new IdempotencyCache(new ObjectMapper(), 100, 60_000);
+    private final Map<String, Object> request = Map.of("firstName", "Slow", "lastName", "Write");
+
+    @AfterEach
+    void tearDown() {
+        employeeService.shutdown();
+    }
+
+    @Test
+    void retryAfterATimeoutGetsTheOriginalEmployee() throws InterruptedException {
+        CompletionException timeout = assertThrows(CompletionException.class, () -> create().join());
+        assertInstanceOf(TimeoutException.class, timeout.getCause());
+
+        // Retried while the first write is still running: answered from the in-flight claim
+        Employee inFlight = cache.execute("key-1", "alice", request, this::write).join();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (repository.findAll().isEmpty()) {
+            assertTrue(System.currentTimeMillis() < deadline, "write never landed");
+            Thread.sleep(10);
+        }
+        // Retried after it landed: answered from the cache
+        Employee cached = create().join();
+
+        assertEquals(1, repository.findAll().size());
+        Employee original = repository.findAll().get(0);
+        assertEquals(original.getUuid(), inFlight.getUuid());
+        assertEquals(original.getUuid(), cached.getUuid());
+    }
+
+    private CompletableFuture<Employee> create() {
+        return employeeService.withTimeout(cache.execute("key-1", "alice", request, this::write));
+    }
+
+    private CompletableFuture<Employee> write() {
+        return employeeService.writeEmployeeAsync(
+                new DefaultEmployee("Slow", "Write", 50_000, "Engineer", "slow.write@example.com"));
+    }
+
+    private static class SlowRepository extends InMemoryEmployeeRepository {
+        @Override
+        public CompletableFuture<Employee> saveAsync(Employee employee) {
+            return CompletableFuture.supplyAsync(
+                    () -> save(employee), CompletableFuture.delayedExecutor(WRITE_MILLIS, TimeUnit.MILLISECONDS));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.challenge.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.challenge.api.model.DefaultEmployee;
+import com.challenge.api.model.Employee;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class LiveEmploymentIndexTest {
+
+    private static final long REBUILD_DELAY_MILLIS = 20;
+    private static final Instant NOW = Instant.now();
+
+    private final List<Employee> store = new CopyOnWriteArrayList<>();
+    private LiveEmploymentIndex index;
+
+    @AfterEach
+    void tearDown() {
+        index.shutdown();
+    }
+
+    @Test
+    void writesAreVisibleBeforeAndAfterTheRebuild() throws InterruptedException {
+        index = new LiveEmploymentIndex(() -> new ArrayList<>(store), REBUILD_DELAY_MILLIS, 1000);
+        index.replace(List.of());
+
+        write(employee(NOW.minus(Duration.ofDays(10)), null));
+        write(employee(NOW.minus(Duration.ofDays(10)), NOW.minus(Duration.ofDays(1))));
+        assertEquals(1, index.snapshot().headcountAt(NOW));
+        assertEquals(2, index.snapshot().overlay().size());
+
+        awaitEmptyOverlay();
+        assertEquals(1, index.snapshot().headcountAt(NOW));
+        assertEquals(1, index.snapshot().employedAt(NOW).size());
+        assertEquals(2, index.snapshot().headcountAt(NOW.minus(Duration.ofDays(2))));
+    }
+
+    @Test
+    void writesDuringARebuildAreCountedOnce() throws InterruptedException {
+        Employee savedBeforeRead = employee(NOW.minus(Duration.ofDays(3)), null);
+        Employee savedAfterRead = employee(NOW.minus(Duration.ofDays(3)), null);
+        // Both land in the overlay while the rebuild reads the store, only the first is in what it read
+        Supplier<List<Employee>> loader = () -> {
+            if (!store.contains(savedBeforeRead)) {
+                store.add(savedBeforeRead);
+                List<Employee> read = new ArrayList<>(store);
+                index.added(List.of(savedBeforeRead));
+                write(savedAfterRead);
+                return read;
+            }
+            return new ArrayList<>(store);
+        };
+        index = new LiveEmploymentIndex(loader, REBUILD_DELAY_MILLIS, 1000);
+        index.replace(List.of());
+
+        write(employee(NOW.minus(Duration.ofDays(5)), null));
+        awaitEmptyOverlay();
+        assertEquals(3, index.snapshot().headcountAt(NOW));
+    }
+
+    @Test
+    void replaceDropsTheOverlay() {
+        index = new LiveEmploymentIndex(() -> new ArrayList<>(store), 60_000, 1000);
+        write(employee(NOW.minus(Duration.ofDays(1)), null));
+        index.replace(List.of());
+        assertEquals(0, index.snapshot().headcountAt(NOW));
+    }
+
+    private void write(Employee employee) {
+        store.add(employee);
+        index.added(List.of(employee));
+    }
+
+    private void awaitEmptyOverlay() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!index.snapshot().overlay().isEmpty()) {
+            assertTrue(System.currentTimeMillis() < deadline, "index was not rebuilt");
+            Thread.sleep(10);
+        }
+    }
+
+    private static Employee employee(Instant hired, Instant terminated) {
+        Employee employee = new DefaultEmployee("Index", "User", 50_000, "Engineer", null);
+        employee.setUuid(UUID.randomUUID());
+        employee.setContractHireDate(hired);
+        employee.setContractTerminationDate(terminated);
+        return employee;
+    }
+}
@@ -0,0 +1,57 @@
+#!/bin/zsh
+
+# Compares time-to-first-response of the plain, AOT, AOT+CDS and native builds.
+# Build the variants first:
+#   ./gradlew :api:bootJar :api:cdsArchive :api:nativeCompile
+
+GREEN='\033[0;32m'
+YELLOW='\033[1;33m'
+NC='\033[0m' # No Color
+
+cd ${0:a:h}
+BASE_URL="http://localhost:8080"
+USERNAME="EmployeesRUS"
+PASSWORD="AWYSftc_878965$!"
+MAIN_CLASS="com.challenge.api.EntryLevelJavaChallengeApplication"
+BOOT_JAR=$(ls build/libs/*.jar | grep -v -e plain -e aot | head -1)
+
+typeset -A MODES
+MODES=(
+    jar    "java -jar $BOOT_JAR"
+    aot    "java -Dspring.aot.enabled=true -jar $BOOT_JAR"
+    native "build/native/nativeCompile/employee-api"
+)
+
+zmodload zsh/datetime
+now_ms() { print $(( int(EPOCHREALTIME * 1000) )) }
+
+echo "${YELLOW}mode     ready (ms)   first login (ms)   first GET (ms)${NC}"
+for MODE in jar aot cds native; do
+    # cds archives are only valid for the classpath they were dumped with, so run it from the same directory
+    if [[ $MODE == cds ]]; then
+        pushd build/cds > /dev/null
+        COMMAND="java -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true -cp 'lib/*' $MAIN_CLASS"
+    else
+        COMMAND=$MODES[$MODE]
+    fi
+
+    START=$(now_ms)
+    eval "$COMMAND > /dev/null 2>&1 &"
+    PID=$!
+    until curl -s -o /dev/null "$BASE_URL/api/v1/auth/login"; do sleep 0.01; done
+    READY=$(now_ms)
+
+    TOKEN=$(curl -s -X POST "$BASE_URL/api/v1/auth/login" \
+        -H "Content-Type: application/json" \
+        -d "{\"username\":\"$USERNAME\",\"password\":\"$PASSWORD\"}" \
+        | sed 's/.*"token":"\([^"]*\)".*/\1/')
+    LOGGED_IN=$(now_ms)
+    curl -s -o /dev/null "$BASE_URL/api/v1/employee" -H "Authorization: Bearer $TOKEN"
+    FIRST_GET=$(now_ms)
+
+    printf "%-8s %-12d %-18d %d\n" $MODE $(( READY - START )) $(( LOGGED_IN - READY )) $(( FIRST_GET - LOGGED_IN ))
+    kill $PID; wait $PID 2> /dev/null
+    [[ $MODE == cds ]] && popd > /dev/null
+done
+
+echo "\n${GREEN}Benchmark completed!${NC}"